@@ -0,0 +1,373 @@
+package org.example.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.example.App;
+import org.example.event.UserEventSerializer;
+import org.example.model.dto.UserEvent;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.kafka.core.ProducerFactory;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Repeatable end-to-end load generator. Boots the service on in-memory H2 with a stubbed Kafka producer
+ * (or targets {@code -Dload.url}), seeds users and drives a weighted create/get/patch/delete mix in one of two modes:
+ * <ul>
+ *     <li>{@code closed}: {@code load.concurrency} clients each send the next request when the previous one returns;</li>
+ *     <li>{@code open}: requests are issued at a constant {@code load.rate} per second regardless of how the service
+ *     keeps up, and latency is measured from the intended send time, so queueing delay is not hidden
+ *     (no coordinated omission).</li>
+ * </ul>
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:java@load -Dload.mode=closed -Dload.concurrency=64
+ * mvn -Pbenchmark test-compile exec:java@load -Dload.mode=open -Dload.rate=2000 -Dload.mix=get:90,patch:10
+ * </pre>
+ * Settings ({@code -Dload.*}): {@code url}, {@code label}, {@code mode}, {@code mix}, {@code concurrency},
+ * {@code rate}, {@code users}, {@code warmup}, {@code duration}, {@code hdr-dir} (writes one {@code .hgrm}
+ * percentile distribution per operation for plotting and comparing runs).
+ */
+public class LoadTestHarness {
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final long MAX_LATENCY_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    enum Operation {
+        CREATE, GET, PATCH, DELETE
+    }
+
+    private final HttpClient client;
+    private final String baseUrl;
+    private final Operation[] mix;
+    private final IdPool ids = new IdPool();
+    private final String runId = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<Operation, Recorder> recorders = new EnumMap<>(Operation.class);
+    private final Map<Operation, AtomicLong> failures = new EnumMap<>(Operation.class);
+
+    LoadTestHarness(String baseUrl, Operation[] mix, ExecutorService executor) {
+        this.baseUrl = baseUrl;
+        this.mix = mix;
+        this.client = HttpClient.newBuilder()
+                .executor(executor)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        for (Operation operation : Operation.values()) {
+            recorders.put(operation, new Recorder(MAX_LATENCY_NANOS, 3));
+            failures.put(operation, new AtomicLong());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        String url = System.getProperty("load.url");
+        String label = System.getProperty("load.label", "unnamed");
+        String mode = System.getProperty("load.mode", "closed");
+        Operation[] mix = parseMix(System.getProperty("load.mix", "get:70,create:10,patch:15,delete:5"));
+        int concurrency = Integer.getInteger("load.concurrency", 64);
+        int rate = Integer.getInteger("load.rate", 1000);
+        int users = Integer.getInteger("load.users", 10_000);
+        Duration warmup = Duration.parse(System.getProperty("load.warmup", "PT10S"));
+        Duration duration = Duration.parse(System.getProperty("load.duration", "PT30S"));
+        String hdrDir = System.getProperty("load.hdr-dir");
+
+        ConfigurableApplicationContext context = url == null ? start() : null;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            if (context != null) {
+                url = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+            }
+            LoadTestHarness harness = new LoadTestHarness(url, mix, executor);
+            harness.seed(users);
+            System.out.printf("%s: %s loop against %s, %d users seeded, mix %s%n",
+                    label, mode, url, harness.ids.size(), System.getProperty("load.mix", "default"));
+
+            harness.run(executor, mode, concurrency, rate, warmup);
+            harness.reset();
+            harness.run(executor, mode, concurrency, rate, duration);
+            harness.report(label, duration, hdrDir == null ? null : Path.of(hdrDir));
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(App.class, StubKafkaConfig.class)
+                .run(
+                        "--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:load;DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.jpa.properties.hibernate.format_sql=false",
+                        "--app.outbox.relay.enabled=true",
+                        "--app.access-log.sample-rate=0",
+                        "--app.rate-limit.enabled=false",
+                        "--app.concurrency-limit.enabled=false",
+                        "--logging.level.root=warn");
+    }
+
+    private void run(ExecutorService executor, String mode, int concurrency, int rate, Duration duration)
+            throws InterruptedException {
+        switch (mode) {
+            case "closed" -> runClosed(executor, concurrency, duration);
+            case "open" -> runOpen(executor, rate, duration);
+            default -> throw new IllegalArgumentException("Unknown load.mode " + mode + ", expected closed or open");
+        }
+    }
+
+    private void runClosed(ExecutorService executor, int concurrency, Duration duration) throws InterruptedException {
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Future<?>> workers = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            workers.add(executor.submit(() -> {
+                while (System.nanoTime() < deadline) {
+                    execute(nextOperation(), System.nanoTime());
+                }
+            }));
+        }
+        awaitAll(workers);
+    }
+
+    private void runOpen(ExecutorService executor, int rate, Duration duration) throws InterruptedException {
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        long start = System.nanoTime();
+        long requests = duration.toNanos() / intervalNanos;
+        List<Future<?>> inFlight = new ArrayList<>((int) Math.min(requests, Integer.MAX_VALUE));
+        for (long i = 0; i < requests; i++) {
+            long intendedStart = start + i * intervalNanos;
+            long wait = intendedStart - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Operation operation = nextOperation();
+            inFlight.add(executor.submit(() -> execute(operation, intendedStart)));
+        }
+        awaitAll(inFlight);
+    }
+
+    private void execute(Operation operation, long startedNanos) {
+        HttpRequest request = request(operation);
+        if (request == null) {
+            return;
+        }
+        try {
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() >= 300) {
+                failures.get(operation).incrementAndGet();
+            } else if (operation == Operation.CREATE) {
+                ids.add(JSON.readTree(response.body()).path("id").asLong());
+            }
+        } catch (IOException e) {
+            failures.get(operation).incrementAndGet();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        recorders.get(operation).recordValue(Math.min(System.nanoTime() - startedNanos, MAX_LATENCY_NANOS));
+    }
+
+    private HttpRequest request(Operation operation) {
+        if (operation == Operation.CREATE) {
+            return send("POST", "/user", newUserJson());
+        }
+        long id = operation == Operation.DELETE ? ids.removeRandom() : ids.random();
+        if (id < 0) {
+            return null;
+        }
+        return switch (operation) {
+            case GET -> HttpRequest.newBuilder(URI.create(baseUrl + "/user/" + id)).GET().build();
+            case PATCH -> send("PATCH", "/user/" + id, newUserJson());
+            default -> HttpRequest.newBuilder(URI.create(baseUrl + "/user/" + id)).DELETE().build();
+        };
+    }
+
+    private void seed(int users) throws Exception {
+        for (int from = 0; from < users; from += 1000) {
+            StringBuilder body = new StringBuilder("[");
+            for (int i = from; i < Math.min(from + 1000, users); i++) {
+                body.append(i == from ? "" : ",").append(newUserJson());
+            }
+            HttpResponse<String> response = client.send(send("POST", "/users/batch", body.append(']').toString()),
+                    HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Seeding failed with " + response.statusCode() + ": " + response.body());
+            }
+            for (JsonNode item : JSON.readTree(response.body())) {
+                ids.add(item.path("user").path("id").asLong());
+            }
+        }
+    }
+
+    private void reset() {
+        recorders.values().forEach(Recorder::reset);
+        failures.values().forEach(failed -> failed.set(0));
+    }
+
+    private void report(String label, Duration duration, Path hdrDir) throws IOException {
+        double seconds = duration.toNanos() / 1e9;
+        System.out.printf("%-8s %10s %8s %10s %9s %9s %9s %9s %9s%n",
+                "op", "requests", "failed", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        Histogram total = new Histogram(MAX_LATENCY_NANOS, 3);
+        long totalFailed = 0;
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = recorders.get(operation).getIntervalHistogram();
+            long failed = failures.get(operation).get();
+            if (histogram.getTotalCount() == 0) {
+                continue;
+            }
+            total.add(histogram);
+            totalFailed += failed;
+            print(operation.name().toLowerCase(), histogram, failed, seconds);
+            if (hdrDir != null) {
+                write(hdrDir.resolve(label + "-" + operation.name().toLowerCase() + ".hgrm"), histogram);
+            }
+        }
+        print("total", total, totalFailed, seconds);
+        if (hdrDir != null) {
+            write(hdrDir.resolve(label + "-total.hgrm"), total);
+        }
+    }
+
+    private static void print(String name, Histogram histogram, long failed, double seconds) {
+        System.out.printf("%-8s %10d %8d %10.0f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                name,
+                histogram.getTotalCount(),
+                failed,
+                histogram.getTotalCount() / seconds,
+                millis(histogram.getValueAtPercentile(50)),
+                millis(histogram.getValueAtPercentile(90)),
+                millis(histogram.getValueAtPercentile(99)),
+                millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue()));
+    }
+
+    private static void write(Path file, Histogram histogram) throws IOException {
+        Files.createDirectories(file.getParent());
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+            histogram.outputPercentileDistribution(out, 1e6);
+        }
+    }
+
+    private Operation nextOperation() {
+        return mix[ThreadLocalRandom.current().nextInt(mix.length)];
+    }
+
+    private HttpRequest send(String method, String path, String body) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private String newUserJson() {
+        long n = sequence.incrementAndGet();
+        return "{\"name\":\"Load " + n + "\",\"email\":\"load-" + runId + "-" + n + "@example.com\",\"age\":30}";
+    }
+
+    private static void awaitAll(List<Future<?>> futures) throws InterruptedException {
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+    }
+
+    /**
+     * Expands {@code get:70,create:10} into a 100-slot table so picking an operation is one random index.
+     */
+    static Operation[] parseMix(String mix) {
+        List<Operation> table = new ArrayList<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            Operation operation = Operation.valueOf(parts[0].trim().toUpperCase());
+            for (int i = Integer.parseInt(parts[1].trim()); i > 0; i--) {
+                table.add(operation);
+            }
+        }
+        if (table.isEmpty()) {
+            throw new IllegalArgumentException("Empty load.mix " + mix);
+        }
+        return table.toArray(Operation[]::new);
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+
+    /**
+     * Ids of users known to exist. Deletes take an id out before the request is sent, so the same user
+     * is never deleted twice; a get or patch racing that delete shows up as a 404 failure.
+     */
+    private static class IdPool {
+        private long[] ids = new long[1024];
+        private int size;
+
+        synchronized void add(long id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+
+        synchronized long random() {
+            return size == 0 ? -1 : ids[ThreadLocalRandom.current().nextInt(size)];
+        }
+
+        synchronized long removeRandom() {
+            if (size == 0) {
+                return -1;
+            }
+            int i = ThreadLocalRandom.current().nextInt(size);
+            long id = ids[i];
+            ids[i] = ids[--size];
+            return id;
+        }
+
+        synchronized int size() {
+            return size;
+        }
+    }
+
+    /**
+     * Replaces the real producer with one that acknowledges every record immediately, after serializing it,
+     * so the outbox relay keeps running without a broker. Registered only as a source of the harness's application
+     * and deliberately not a {@code @Configuration}: the benchmark profile compiles these classes with the tests,
+     * and component scanning would otherwise swap the stub into every {@code @SpringBootTest} context.
+     */
+    static class StubKafkaConfig {
+        @Bean
+        @Primary
+        ProducerFactory<String, UserEvent> stubProducerFactory() {
+            return () -> new MockProducer<>(true, new StringSerializer(), new UserEventSerializer("binary"));
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package org.example.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop load driver for comparing the platform-thread Tomcat pool with virtual threads.
+ * Start the service once per mode, with rate and concurrency limiting off so the driver measures the
+ * thread model rather than the admission filters, and run the driver against each:
+ * <pre>
+ * mvn spring-boot:run -Dspring-boot.run.jvmArguments=-Djdk.tracePinnedThreads=short \
+ *     -Dspring-boot.run.arguments="--app.rate-limit.enabled=false --app.concurrency-limit.enabled=false"
+ * SPRING_THREADS_VIRTUAL_ENABLED=true mvn spring-boot:run -Dspring-boot.run.jvmArguments=-Djdk.tracePinnedThreads=short \
+ *     -Dspring-boot.run.arguments="--app.rate-limit.enabled=false --app.concurrency-limit.enabled=false"
+ *
+ * mvn -Pbenchmark test-compile exec:java -Dbenchmark.label=platform
+ * mvn -Pbenchmark test-compile exec:java -Dbenchmark.label=virtual
+ * </pre>
+ * Settings ({@code -Dbenchmark.*}): {@code url}, {@code concurrency}, {@code users}, {@code write-ratio},
+ * {@code warmup}, {@code duration}.
+ */
+public class ThreadModeBenchmark {
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final HttpClient client;
+    private final String baseUrl;
+    private final String runId = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+    private final Recorder recorder = new Recorder(TimeUnit.MINUTES.toNanos(1), 3);
+
+    ThreadModeBenchmark(String baseUrl, ExecutorService executor) {
+        this.baseUrl = baseUrl;
+        this.client = HttpClient.newBuilder()
+                .executor(executor)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        String url = System.getProperty("benchmark.url", "http://localhost:8080");
+        String label = System.getProperty("benchmark.label", "unnamed");
+        int concurrency = Integer.getInteger("benchmark.concurrency", 1000);
+        int users = Integer.getInteger("benchmark.users", 1000);
+        double writeRatio = Double.parseDouble(System.getProperty("benchmark.write-ratio", "0.1"));
+        Duration warmup = Duration.parse(System.getProperty("benchmark.warmup", "PT10S"));
+        Duration duration = Duration.parse(System.getProperty("benchmark.duration", "PT30S"));
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            ThreadModeBenchmark benchmark = new ThreadModeBenchmark(url, executor);
+            List<Long> ids = benchmark.seed(users);
+            System.out.printf("%s: seeded %d users, %d clients, %.0f%% writes%n",
+                    label, ids.size(), concurrency, writeRatio * 100);
+
+            benchmark.run(executor, ids, concurrency, writeRatio, warmup);
+            benchmark.recorder.reset();
+            benchmark.errors.set(0);
+            benchmark.run(executor, ids, concurrency, writeRatio, duration);
+            benchmark.report(label, duration);
+        }
+    }
+
+    private List<Long> seed(int users) throws Exception {
+        StringBuilder body = new StringBuilder("[");
+        for (int i = 0; i < users; i++) {
+            body.append(i == 0 ? "" : ",").append(newUserJson());
+        }
+        HttpResponse<String> response = client.send(post("/users/batch", body.append(']').toString()),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Seeding failed with " + response.statusCode() + ": " + response.body());
+        }
+        List<Long> ids = new ArrayList<>(users);
+        for (JsonNode item : JSON.readTree(response.body())) {
+            ids.add(item.path("user").path("id").asLong());
+        }
+        return ids;
+    }
+
+    private void run(ExecutorService executor, List<Long> ids, int concurrency, double writeRatio, Duration duration)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Future<?>> workers = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            workers.add(executor.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (System.nanoTime() < deadline) {
+                    HttpRequest request = random.nextDouble() < writeRatio
+                            ? post("/user", newUserJson())
+                            : HttpRequest.newBuilder(URI.create(baseUrl + "/user/" + ids.get(random.nextInt(ids.size()))))
+                                    .GET()
+                                    .build();
+                    long started = System.nanoTime();
+                    try {
+                        int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                        if (status >= 300) {
+                            errors.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        errors.incrementAndGet();
+                    }
+                    recorder.recordValue(Math.min(System.nanoTime() - started, TimeUnit.MINUTES.toNanos(1)));
+                }
+            }));
+        }
+        for (Future<?> worker : workers) {
+            try {
+                worker.get();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+    }
+
+    private void report(String label, Duration duration) {
+        Histogram histogram = recorder.getIntervalHistogram();
+        System.out.printf("%s: %d requests, %d errors, %.0f req/s, p50 %.2f ms, p99 %.2f ms, p99.9 %.2f ms, max %.2f ms%n",
+                label,
+                histogram.getTotalCount(),
+                errors.get(),
+                histogram.getTotalCount() / (duration.toNanos() / 1e9),
+                millis(histogram.getValueAtPercentile(50)),
+                millis(histogram.getValueAtPercentile(99)),
+                millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue()));
+    }
+
+    private HttpRequest post(String path, String body) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private String newUserJson() {
+        long n = sequence.incrementAndGet();
+        return "{\"name\":\"Bench " + n + "\",\"email\":\"bench-" + runId + "-" + n + "@example.com\",\"age\":30}";
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+}
@@ -0,0 +1,166 @@
+package org.example.benchmark;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.example.event.UserEventCodec;
+import org.example.mapper.UserMapper;
+import org.example.mapper.UserMapperImpl;
+import org.example.model.UserEntity;
+import org.example.model.dto.NewUserDto;
+import org.example.model.dto.UserDto;
+import org.example.model.dto.UserEvent;
+import org.example.model.dto.UserEventType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.RepresentationModel;
+import org.springframework.hateoas.mediatype.MessageResolver;
+import org.springframework.hateoas.mediatype.hal.CurieProvider;
+import org.springframework.hateoas.mediatype.hal.Jackson2HalModule;
+import org.springframework.hateoas.server.core.EvoInflectorLinkRelationProvider;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request CPU work that does not touch the database: mapping, JSON and event encoding, validation.
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec@jmh -Djmh.args="UserCodecBenchmark -prof gc"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserCodecBenchmark {
+    private final UserMapper mapper = new UserMapperImpl();
+    private final ObjectMapper json = Jackson2ObjectMapperBuilder.json().build();
+    private final ObjectMapper blackbird = Jackson2ObjectMapperBuilder.json()
+            .modulesToInstall(new BlackbirdModule())
+            .build();
+    private final ObjectMapper hal = Jackson2ObjectMapperBuilder.json()
+            .modulesToInstall(new Jackson2HalModule())
+            .handlerInstantiator(new Jackson2HalModule.HalHandlerInstantiator(
+                    new EvoInflectorLinkRelationProvider(), CurieProvider.NONE, MessageResolver.DEFAULTS_ONLY))
+            .build();
+
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private UserEntity entity;
+    private NewUserDto newUserDto;
+    private UserDto userDto;
+    private EntityModel<UserDto> linkedUserDto;
+    private RepresentationUserDto representationUserDto;
+    private UserEvent event;
+
+    @Setup
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+        LocalDateTime createdAt = LocalDateTime.of(2023, 10, 11, 23, 10, 5);
+        entity = new UserEntity(6L, "Иван Петров", "ivan.petrov@mail.ru", 18, createdAt, 3L);
+        newUserDto = new NewUserDto("Иван Петров", "ivan.petrov@mail.ru", 18);
+        userDto = new UserDto(6L, "Иван Петров", "ivan.petrov@mail.ru", 18, createdAt, 3L);
+        linkedUserDto = EntityModel.of(userDto, Link.of("http://localhost:8080/user/6"));
+        representationUserDto = new RepresentationUserDto(6L, "Иван Петров", "ivan.petrov@mail.ru", 18, createdAt);
+        event = new UserEvent(UserEventType.CREATE, 6L, "ivan.petrov@mail.ru", System.currentTimeMillis());
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public UserDto mapToUserDto() {
+        return mapper.toUserDto(entity);
+    }
+
+    @Benchmark
+    public UserEntity mapToUserEntity() {
+        return mapper.toUserEntity(newUserDto);
+    }
+
+    @Benchmark
+    public byte[] serializeUserDto() throws Exception {
+        return json.writeValueAsBytes(userDto);
+    }
+
+    @Benchmark
+    public byte[] serializeUserDtoBlackbird() throws Exception {
+        return blackbird.writeValueAsBytes(userDto);
+    }
+
+    @Benchmark
+    public byte[] serializeUserDtoHal() throws Exception {
+        return hal.writeValueAsBytes(linkedUserDto);
+    }
+
+    /**
+     * The previous shape of {@link UserDto}: a {@link RepresentationModel} that allocates a links list per instance.
+     */
+    @Benchmark
+    public byte[] serializeRepresentationModel() throws Exception {
+        return json.writeValueAsBytes(new RepresentationUserDto(representationUserDto.id, representationUserDto.name,
+                representationUserDto.email, representationUserDto.age, representationUserDto.createdAt));
+    }
+
+    @Benchmark
+    public byte[] serializeLeanUserDto() throws Exception {
+        return json.writeValueAsBytes(new UserDto(userDto.getId(), userDto.getName(), userDto.getEmail(),
+                userDto.getAge(), userDto.getCreatedAt(), userDto.getVersion()));
+    }
+
+    @Benchmark
+    public NewUserDto deserializeNewUserDto() throws Exception {
+        return json.readValue("{\"name\":\"Иван Петров\",\"email\":\"ivan.petrov@mail.ru\",\"age\":18}",
+                NewUserDto.class);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<NewUserDto>> validateNewUserDto() {
+        return validator.validate(newUserDto);
+    }
+
+    @Benchmark
+    public byte[] encodeEventBinary() {
+        return UserEventCodec.encode(event);
+    }
+
+    @Benchmark
+    public byte[] encodeEventJson() {
+        return UserEventCodec.encodeJson(event);
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class RepresentationUserDto extends RepresentationModel<RepresentationUserDto> {
+        private Long id;
+        private String name;
+        private String email;
+        private Integer age;
+        @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+        private LocalDateTime createdAt;
+    }
+}
@@ -0,0 +1,91 @@
+package org.example.benchmark;
+
+import org.example.App;
+import org.example.model.dto.NewUserDto;
+import org.example.model.dto.UserDto;
+import org.example.service.UserService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link UserService} round trips against an in-memory H2 database, without the web layer and Kafka.
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec@jmh -Djmh.args="UserServiceBenchmark -prof gc"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserServiceBenchmark {
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Param("10000")
+    private int users;
+
+    private ConfigurableApplicationContext context;
+    private UserService userService;
+    private long[] ids;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(App.class)
+                .web(WebApplicationType.NONE)
+                .run(
+                        "--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.jpa.properties.hibernate.format_sql=false",
+                        "--app.outbox.relay.enabled=false",
+                        "--app.access-log.sample-rate=0",
+                        "--logging.level.root=warn");
+        userService = context.getBean(UserService.class);
+        List<NewUserDto> seed = new ArrayList<>(users);
+        for (int i = 0; i < users; i++) {
+            seed.add(newUser());
+        }
+        ids = userService.createAll(seed).stream()
+                .mapToLong(result -> result.getUser().getId())
+                .toArray();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public UserDto getById() {
+        return userService.getById(ids[ThreadLocalRandom.current().nextInt(ids.length)]);
+    }
+
+    @Benchmark
+    public UserDto create() {
+        return userService.create(newUser());
+    }
+
+    private NewUserDto newUser() {
+        long n = sequence.incrementAndGet();
+        return new NewUserDto("User " + n, "user" + n + "@bench.example.org", 18 + (int) (n % 60));
+    }
+}
@@ -0,0 +1,39 @@
+package org.example;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.model.ImportFormat;
+import org.example.service.UserImportService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Imports users from {@code --app.import.file=<path>} at startup.
+ * Combine with {@code --spring.main.web-application-type=none} to exit once the file is loaded.
+ */
+@Slf4j
+@Component
+@Profile("!reactive")
+@RequiredArgsConstructor
+@ConditionalOnProperty("app.import.file")
+public class UserImportRunner implements ApplicationRunner {
+    private final UserImportService importService;
+    @Value("${app.import.file}")
+    private Path file;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        log.info("Importing users from {}", file);
+        try (InputStream in = Files.newInputStream(file)) {
+            importService.importUsers(in, ImportFormat.fromFileName(file.getFileName().toString()));
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package org.example.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent loads of the same key into one: the first caller runs the loader, callers arriving
+ * while it is in flight wait for and share its result or exception. Nothing is kept once the load completes,
+ * so this bounds concurrency per key rather than caching. Every caller gets the same value, so {@code V}
+ * should be immutable.
+ */
+public class SingleFlight<K, V> {
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter loads;
+    private final Counter collapsed;
+
+    public SingleFlight(String name, MeterRegistry meterRegistry) {
+        this.loads = meterRegistry.counter("singleflight.calls", "name", name, "result", "loaded");
+        this.collapsed = meterRegistry.counter("singleflight.calls", "name", name, "result", "collapsed");
+    }
+
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> call = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, call);
+        if (existing != null) {
+            collapsed.increment();
+            return join(existing);
+        }
+        loads.increment();
+        try {
+            V value = loader.get();
+            call.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    /**
+     * Lets the next caller of {@code key} start a fresh load instead of joining the one in flight, for a writer
+     * whose change that load may have missed. Callers already waiting still get the old result.
+     */
+    public void forget(K key) {
+        inFlight.remove(key);
+    }
+
+    private static <V> V join(CompletableFuture<V> call) {
+        try {
+            return call.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package org.example.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.kafka.listener.ConsumerAwareRebalanceListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Clears the {@link UserResponseCache} on every (re)assignment of the user-events topic, since events published
+ * while this instance had no partitions are never replayed. The end offsets are resolved on the consumer thread
+ * first: left to the first fetch, {@code latest} would skip events published between assignment and that fetch,
+ * and the cache could keep a row another instance changed in that gap.
+ */
+@Slf4j
+@Component
+@Profile("!reactive")
+@ConditionalOnProperty(name = "app.cache.user.invalidation.enabled", matchIfMissing = true)
+public class UserCacheAssignmentListener implements ConsumerAwareRebalanceListener {
+    private final UserResponseCache responseCache;
+    private volatile Set<TopicPartition> positioned = Set.of();
+
+    public UserCacheAssignmentListener(UserResponseCache responseCache) {
+        this.responseCache = responseCache;
+    }
+
+    @Override
+    public void onPartitionsAssigned(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        consumer.seekToEnd(partitions);
+        partitions.forEach(consumer::position);
+        log.info("Assigned {}, clearing the user response cache", partitions);
+        responseCache.invalidateAll();
+        positioned = Set.copyOf(consumer.assignment());
+    }
+
+    @Override
+    public void onPartitionsRevokedBeforeCommit(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        positioned = Set.of();
+    }
+
+    /**
+     * Partitions whose position was resolved on assignment; every event published to them from then on is seen.
+     */
+    public Set<TopicPartition> getPositionedPartitions() {
+        return positioned;
+    }
+}
@@ -0,0 +1,51 @@
+package org.example.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.example.model.dto.UserEvent;
+import org.example.model.dto.UserEventType;
+import org.example.service.ProducerService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Evicts users changed or deleted on any instance from this instance's {@link UserResponseCache}.
+ * The writing instance evicts locally right after commit; the others are stale for at most the outbox
+ * relay delay plus this consumer's lag, which {@code user.cache.invalidation.lag} measures from the
+ * event time. If events stop arriving, the cache TTL remains the upper bound. Every (re)assignment
+ * clears the cache, see {@link UserCacheAssignmentListener}.
+ */
+@Component
+@Profile("!reactive")
+@ConditionalOnProperty(name = "app.cache.user.invalidation.enabled", matchIfMissing = true)
+public class UserCacheInvalidationListener {
+    public static final String LISTENER_ID = "userCacheInvalidation";
+
+    private final UserResponseCache responseCache;
+    private final Counter invalidations;
+    private final Timer lag;
+
+    public UserCacheInvalidationListener(UserResponseCache responseCache, MeterRegistry meterRegistry) {
+        this.responseCache = responseCache;
+        this.invalidations = meterRegistry.counter("user.cache.invalidations");
+        this.lag = Timer.builder("user.cache.invalidation.lag")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    @KafkaListener(id = LISTENER_ID, idIsGroup = false, topics = ProducerService.TOPIC,
+            containerFactory = "userEventListenerContainerFactory")
+    public void onUserEvent(UserEvent event) {
+        if (event.getOperation() == UserEventType.CREATE) {
+            return;
+        }
+        responseCache.invalidate(event.getUserId());
+        invalidations.increment();
+        lag.record(Math.max(0, System.currentTimeMillis() - event.getTimestamp()), TimeUnit.MILLISECONDS);
+    }
+}
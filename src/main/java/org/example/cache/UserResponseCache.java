@@ -0,0 +1,126 @@
+package org.example.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.example.model.dto.UserDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache of already serialized {@link UserDto} JSON and its version keyed by user id.
+ * Bounded by the total size of cached bodies (W-TinyLFU eviction) and expired after a fixed TTL.
+ */
+@Component
+public class UserResponseCache {
+    public static final String CACHE_NAME = "userResponses";
+
+    private final Cache<Long, Entry> cache;
+    private final ObjectMapper objectMapper;
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public UserResponseCache(@Value("${app.cache.user.max-size-bytes:67108864}") long maxSizeBytes,
+                             @Value("${app.cache.user.ttl:PT10M}") Duration ttl,
+                             ObjectMapper objectMapper,
+                             MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxSizeBytes)
+                .weigher((Long id, Entry entry) -> entry.body().length)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public Entry get(Long userId, Supplier<UserDto> loader) {
+        return cache.get(userId, id -> {
+            UserDto userDto = loader.get();
+            return new Entry(serialize(userDto), userDto.getVersion());
+        });
+    }
+
+    /**
+     * Looks all ids up at once and loads the missing ones with a single {@code loader} call.
+     * Ids the loader does not return are left out of the result and are not cached.
+     * <p>
+     * Unlike {@link #get}, the bulk load holds no per-key lock, so an invalidation can land while it reads.
+     * Loaded entries are still returned to the caller but only cached if no invalidation happened since the
+     * load started; the check and the insert run inside the key's {@code compute}, which {@link #invalidate}
+     * also takes.
+     */
+    public Map<Long, Entry> getAll(Collection<Long> userIds, Function<Set<Long>, List<UserDto>> loader) {
+        Set<Long> requested = new LinkedHashSet<>(userIds);
+        Map<Long, Entry> present = cache.getAllPresent(requested);
+        if (present.size() == requested.size()) {
+            return present;
+        }
+        Set<Long> missing = new HashSet<>(requested);
+        missing.removeAll(present.keySet());
+        long invalidationsBefore = invalidations.get();
+        Map<Long, Entry> loaded = new HashMap<>();
+        for (UserDto userDto : loader.apply(Set.copyOf(missing))) {
+            Entry entry = new Entry(serialize(userDto), userDto.getVersion());
+            loaded.put(userDto.getId(), entry);
+            cache.asMap().compute(userDto.getId(), (id, cached) -> cached != null ? cached
+                    : invalidations.get() == invalidationsBefore ? entry : null);
+        }
+        Map<Long, Entry> found = new LinkedHashMap<>();
+        for (Long userId : requested) {
+            Entry entry = present.containsKey(userId) ? present.get(userId) : loaded.get(userId);
+            if (entry != null) {
+                found.put(userId, entry);
+            }
+        }
+        return found;
+    }
+
+    public Entry getIfPresent(Long userId) {
+        return cache.getIfPresent(userId);
+    }
+
+    public void invalidate(Long userId) {
+        cache.asMap().compute(userId, (id, cached) -> {
+            invalidations.incrementAndGet();
+            return null;
+        });
+    }
+
+    public void invalidateAll() {
+        invalidations.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    private byte[] serialize(UserDto userDto) {
+        try {
+            return objectMapper.writeValueAsBytes(userDto);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public record Entry(byte[] body, long version) {
+    }
+}
@@ -0,0 +1,81 @@
+package org.example.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.datasource.ReadYourWrites;
+import org.example.datasource.ReplicaRoutingDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replaces Boot's single pool once {@code app.datasource.replicas[0].url} is set. The primary is configured
+ * by {@code spring.datasource.*} as before; read-only transactions get their physical connection from
+ * {@link ReplicaRoutingDataSource}. The lazy proxy is what makes this work: the transaction's read-only
+ * flag is known by the time the first statement actually needs a connection.
+ */
+@Configuration
+@Profile("!reactive")
+@ConditionalOnProperty(name = "app.datasource.replicas[0].url")
+@EnableConfigurationProperties(ReplicaDataSourceProperties.class)
+public class DataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public ReadYourWrites readYourWrites(ReplicaDataSourceProperties properties) {
+        return new ReadYourWrites(properties.getReadYourWritesWindow(), properties.getReadYourWritesMaxClients());
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(HikariDataSource primaryDataSource,
+                                                             DataSourceProperties dataSourceProperties,
+                                                             ReplicaDataSourceProperties properties,
+                                                             ReadYourWrites readYourWrites,
+                                                             MeterRegistry meterRegistry) {
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < properties.getReplicas().size(); i++) {
+            ReplicaDataSourceProperties.Replica replica = properties.getReplicas().get(i);
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName("replica-" + i);
+            dataSource.setDriverClassName(dataSourceProperties.determineDriverClassName());
+            dataSource.setJdbcUrl(replica.getUrl());
+            dataSource.setUsername(replica.getUsername() != null
+                    ? replica.getUsername() : dataSourceProperties.determineUsername());
+            dataSource.setPassword(replica.getPassword() != null
+                    ? replica.getPassword() : dataSourceProperties.determinePassword());
+            dataSource.setMaximumPoolSize(replica.getMaximumPoolSize());
+            dataSource.setConnectionTimeout(replica.getConnectionTimeout().toMillis());
+            dataSource.setReadOnly(true);
+            dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replicas.add(dataSource);
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, properties.getReplicaSelection(),
+                readYourWrites, properties.getReplicaRetryAfter(), meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaRoutingDataSource replicaRoutingDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(replicaRoutingDataSource);
+        return dataSource;
+    }
+}
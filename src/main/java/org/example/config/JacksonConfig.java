@@ -0,0 +1,18 @@
+package org.example.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JacksonConfig {
+
+    /**
+     * Replaces reflective getter/setter calls in bean (de)serializers with generated lambdas.
+     */
+    @Bean
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+}
@@ -0,0 +1,73 @@
+package org.example.config;
+
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.example.cache.UserCacheAssignmentListener;
+import org.example.event.UserEventDeserializer;
+import org.example.model.dto.UserEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Consumer side of the user-events topic used for near-cache invalidation. Every instance joins its own
+ * consumer group so each one sees every event, starting from the latest offset: a fresh instance has an
+ * empty cache and nothing to invalidate. Offsets are never committed, neither on assignment nor through the
+ * manual acks the listener never sends, so a group left behind by a stopped instance holds no offsets and the
+ * broker drops it once it is empty.
+ */
+@Configuration
+@Profile("!reactive")
+@ConditionalOnProperty(name = "app.cache.user.invalidation.enabled", matchIfMissing = true)
+public class KafkaConsumerConfig {
+
+    @Value("${spring.kafka.bootstrap-servers}")
+    private String bootstrapServers;
+
+    @Value("${app.cache.user.invalidation.group-prefix:user-service-cache}")
+    private String groupPrefix;
+
+    @Value("${app.cache.user.invalidation.poll-timeout:PT0.5S}")
+    private Duration pollTimeout;
+
+    @Bean
+    public ConsumerFactory<String, UserEvent> userEventConsumerFactory() {
+        return new DefaultKafkaConsumerFactory<>(consumerProps(), new StringDeserializer(),
+                new ErrorHandlingDeserializer<>(new UserEventDeserializer()));
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, UserEvent> userEventListenerContainerFactory(
+            ConsumerFactory<String, UserEvent> userEventConsumerFactory,
+            UserCacheAssignmentListener userCacheAssignmentListener) {
+        ConcurrentKafkaListenerContainerFactory<String, UserEvent> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(userEventConsumerFactory);
+        factory.getContainerProperties().setPollTimeout(pollTimeout.toMillis());
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        factory.getContainerProperties().setAssignmentCommitOption(ContainerProperties.AssignmentCommitOption.NEVER);
+        factory.getContainerProperties().setConsumerRebalanceListener(userCacheAssignmentListener);
+        return factory;
+    }
+
+    private Map<String, Object> consumerProps() {
+        Map<String, Object> configProps = new HashMap<>();
+        configProps.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        configProps.put(ConsumerConfig.GROUP_ID_CONFIG, groupPrefix + "-" + UUID.randomUUID());
+        configProps.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest");
+        configProps.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        return configProps;
+    }
+}
@@ -1,14 +1,21 @@
 package org.example.config;
 
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.serialization.StringSerializer;
+import org.example.event.UserEventSerializer;
+import org.example.model.dto.UserEvent;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.MicrometerProducerListener;
 import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.core.reactive.ReactiveKafkaProducerTemplate;
+import reactor.kafka.sender.SenderOptions;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -19,17 +26,62 @@ public class KafkaProducerConfig {
     @Value("${spring.kafka.bootstrap-servers}")
     private String bootstrapServers;
 
+    @Value("${app.events.format:binary}")
+    private String eventFormat;
+
+    @Value("${app.kafka.producer.acks:all}")
+    private String acks;
+
+    @Value("${app.kafka.producer.enable-idempotence:true}")
+    private boolean enableIdempotence;
+
+    @Value("${app.kafka.producer.max-in-flight-requests:5}")
+    private int maxInFlightRequests;
+
+    @Value("${app.kafka.producer.linger-ms:20}")
+    private int lingerMs;
+
+    @Value("${app.kafka.producer.batch-size:65536}")
+    private int batchSize;
+
+    @Value("${app.kafka.producer.compression-type:lz4}")
+    private String compressionType;
+
+    @Value("${app.kafka.producer.buffer-memory:33554432}")
+    private long bufferMemory;
+
     @Bean
-    public ProducerFactory<String, String> producerFactory() {
-        Map<String, Object> configProps = new HashMap<>();
-        configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
-        configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        return new DefaultKafkaProducerFactory<>(configProps);
+    public ProducerFactory<String, UserEvent> producerFactory(MeterRegistry meterRegistry) {
+        DefaultKafkaProducerFactory<String, UserEvent> factory = new DefaultKafkaProducerFactory<>(producerProps(),
+                new StringSerializer(), new UserEventSerializer(eventFormat));
+        factory.addListener(new MicrometerProducerListener<>(meterRegistry));
+        return factory;
+    }
+
+    @Bean
+    public KafkaTemplate<String, UserEvent> kafkaTemplate(ProducerFactory<String, UserEvent> producerFactory) {
+        return new KafkaTemplate<>(producerFactory);
     }
 
     @Bean
-    public KafkaTemplate<String, String> kafkaTemplate() {
-        return new KafkaTemplate<>(producerFactory());
+    @Profile("reactive")
+    public ReactiveKafkaProducerTemplate<String, UserEvent> reactiveKafkaProducerTemplate(MeterRegistry meterRegistry) {
+        return new ReactiveKafkaProducerTemplate<>(SenderOptions.<String, UserEvent>create(producerProps())
+                .withKeySerializer(new StringSerializer())
+                .withValueSerializer(new UserEventSerializer(eventFormat))
+                .producerListener(new reactor.kafka.sender.MicrometerProducerListener(meterRegistry)));
+    }
+
+    private Map<String, Object> producerProps() {
+        Map<String, Object> configProps = new HashMap<>();
+        configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        configProps.put(ProducerConfig.ACKS_CONFIG, acks);
+        configProps.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, enableIdempotence);
+        configProps.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, maxInFlightRequests);
+        configProps.put(ProducerConfig.LINGER_MS_CONFIG, lingerMs);
+        configProps.put(ProducerConfig.BATCH_SIZE_CONFIG, batchSize);
+        configProps.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, compressionType);
+        configProps.put(ProducerConfig.BUFFER_MEMORY_CONFIG, bufferMemory);
+        return configProps;
     }
 }
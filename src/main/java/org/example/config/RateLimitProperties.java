@@ -0,0 +1,45 @@
+package org.example.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties("app.rate-limit")
+public class RateLimitProperties {
+    private Budget read = new Budget(200, 100);
+    private Budget write = new Budget(40, 20);
+    /**
+     * Budgets for single endpoints, matched in order by method and path pattern before the read/write defaults.
+     */
+    private List<Endpoint> endpoints = new ArrayList<>();
+    private Duration idleTimeout = Duration.ofMinutes(10);
+    private long maxBuckets = 100_000;
+
+    @Getter
+    @Setter
+    public static class Budget {
+        private long capacity;
+        private double refillPerSecond;
+
+        public Budget() {
+        }
+
+        public Budget(long capacity, double refillPerSecond) {
+            this.capacity = capacity;
+            this.refillPerSecond = refillPerSecond;
+        }
+    }
+
+    @Getter
+    @Setter
+    public static class Endpoint extends Budget {
+        private String method;
+        private String path;
+    }
+}
@@ -0,0 +1,20 @@
+package org.example.config;
+
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Serves the {@code reactive} profile from Reactor Netty's event loops; without this bean Boot would
+ * pick Tomcat, which is on the classpath for the servlet stack.
+ */
+@Configuration
+@Profile("reactive")
+public class ReactiveWebConfig {
+
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+}
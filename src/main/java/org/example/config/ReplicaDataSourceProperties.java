@@ -0,0 +1,34 @@
+package org.example.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.example.datasource.ReplicaSelection;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties("app.datasource")
+public class ReplicaDataSourceProperties {
+    private List<Replica> replicas = new ArrayList<>();
+    private ReplicaSelection replicaSelection = ReplicaSelection.ROUND_ROBIN;
+    private Duration replicaRetryAfter = Duration.ofSeconds(10);
+    /**
+     * How long reads of a client that just wrote stay on the primary; should exceed the replication lag.
+     */
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+    private long readYourWritesMaxClients = 100_000;
+
+    @Getter
+    @Setter
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+        private int maximumPoolSize = 10;
+        private Duration connectionTimeout = Duration.ofSeconds(2);
+    }
+}
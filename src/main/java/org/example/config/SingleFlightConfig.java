@@ -0,0 +1,18 @@
+package org.example.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.cache.SingleFlight;
+import org.example.model.dto.UserDto;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+@Configuration
+@Profile("!reactive")
+public class SingleFlightConfig {
+
+    @Bean
+    public SingleFlight<Long, UserDto> userLoads(MeterRegistry meterRegistry) {
+        return new SingleFlight<>("user.load", meterRegistry);
+    }
+}
@@ -0,0 +1,100 @@
+package org.example.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.v3.oas.annotations.Operation;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Positive;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.model.dto.NewUserDto;
+import org.example.model.dto.UserDto;
+import org.example.model.dto.UserFilter;
+import org.example.model.dto.UserPageDto;
+import org.example.service.ReactiveUserService;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * Non-blocking counterpart of {@link UserController}, active with the {@code reactive} profile.
+ */
+@Slf4j
+@Validated
+@RestController
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveUserController {
+    private static final int EXPORT_USERS_PER_BUFFER = 256;
+
+    private final ReactiveUserService userService;
+    private final ObjectMapper objectMapper;
+
+    @PostMapping("/user")
+    @ResponseStatus(HttpStatus.CREATED)
+    @Operation(summary = "Добавление нового пользователя")
+    public Mono<UserDto> create(@Validated @RequestBody NewUserDto newUserDto) {
+        return userService.create(newUserDto);
+    }
+
+    @GetMapping("/user/{userId}")
+    @Operation(summary = "Получение инфорации о пользователе")
+    public Mono<UserDto> getById(@PathVariable Long userId) {
+        return userService.getById(userId);
+    }
+
+    @GetMapping("/users")
+    @Operation(summary = "Получение списка пользователей по фильтру")
+    public Mono<UserPageDto> search(@ParameterObject UserFilter filter,
+                                    @RequestParam(required = false) String cursor,
+                                    @RequestParam(defaultValue = "50") @Positive @Max(500) int size) {
+        return userService.search(filter, cursor, size);
+    }
+
+    @GetMapping(value = "/users/export", produces = UserController.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Выгрузка всех пользователей в формате NDJSON")
+    public Flux<DataBuffer> exportAll(ServerHttpResponse response) {
+        DataBufferFactory bufferFactory = response.bufferFactory();
+        return userService.exportAll()
+                .buffer(EXPORT_USERS_PER_BUFFER)
+                .map(users -> bufferFactory.wrap(toNdjson(users)));
+    }
+
+    @PatchMapping("/user/{userId}")
+    @Operation(summary = "Обновление пользователя")
+    public Mono<UserDto> update(@PathVariable Long userId,
+                                @Validated @RequestBody NewUserDto newUserDto) {
+        return userService.update(userId, newUserDto);
+    }
+
+    @DeleteMapping("/user/{userId}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    @Operation(summary = "Удаление пользователя")
+    public Mono<Void> delete(@PathVariable Long userId) {
+        return userService.delete(userId);
+    }
+
+    private byte[] toNdjson(List<UserDto> users) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(users.size() * 128);
+        try {
+            for (UserDto user : users) {
+                objectMapper.writeValue(out, user);
+                out.write('\n');
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
@@ -1,61 +1,238 @@
 package org.example.controller;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.example.logger.ColoredCRUDLogger;
+import org.example.cache.UserResponseCache;
+import org.example.exception.PreconditionFailedException;
+import org.example.model.ImportFormat;
+import org.example.model.dto.BatchItemResultDto;
+import org.example.model.dto.ImportReportDto;
 import org.example.model.dto.NewUserDto;
+import org.example.model.dto.UserBatchDto;
 import org.example.model.dto.UserDto;
+import org.example.model.dto.UserFilter;
+import org.example.model.dto.UserPageDto;
+import org.example.service.UserExportService;
+import org.example.service.UserImportService;
 import org.example.service.UserService;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.context.annotation.Profile;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.zip.GZIPOutputStream;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 
 @Slf4j
 @Validated
 @RestController
+@Profile("!reactive")
 @RequiredArgsConstructor
 public class UserController {
+    public static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+    public static final String TEXT_CSV_VALUE = "text/csv";
+
     private final UserService userService;
+    private final UserResponseCache responseCache;
+    private final UserExportService exportService;
+    private final UserImportService importService;
 
     @PostMapping("/user")
     @ResponseStatus(HttpStatus.CREATED)
     @Operation(summary = "Добавление нового пользователя")
     public UserDto create(@Validated @RequestBody NewUserDto newUserDto) {
-        ColoredCRUDLogger.logPost("/users", newUserDto.toString());
-        UserDto result = userService.create(newUserDto);
-        ColoredCRUDLogger.logPostComplete("/users", result.toString());
-        return result;
+        return userService.create(newUserDto);
+    }
+
+    @PostMapping("/users/batch")
+    @Operation(summary = "Пакетное добавление пользователей")
+    public List<BatchItemResultDto> createAll(@RequestBody
+                                              @Size(min = 1, max = 10000, message = "Batch must contain 1 to 10000 users")
+                                              List<NewUserDto> newUserDtos) {
+        return userService.createAll(newUserDtos);
+    }
+
+    @PostMapping(value = "/users/import", consumes = {TEXT_CSV_VALUE, APPLICATION_NDJSON_VALUE})
+    @Operation(summary = "Загрузка пользователей из потока CSV или NDJSON")
+    public ImportReportDto importStream(HttpServletRequest request) throws IOException {
+        return importService.importUsers(request.getInputStream(),
+                ImportFormat.fromContentType(request.getContentType()));
+    }
+
+    @PostMapping(value = "/users/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(summary = "Загрузка пользователей из файла CSV или NDJSON")
+    public ImportReportDto importFile(@RequestPart("file") MultipartFile file) throws IOException {
+        return importService.importUsers(file.getInputStream(),
+                ImportFormat.fromFileName(file.getOriginalFilename()));
     }
 
-    @GetMapping("/user/{userId}")
+    // */* keeps plain JSON the default; getByIdHal is chosen only when HAL is asked for by name
+    @GetMapping(value = "/user/{userId}", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.ALL_VALUE})
     @Operation(summary = "Получение инфорации о пользователе")
-    public UserDto getById(@PathVariable Long userId) {
-        String url = String.format("/users/{%s}", userId);
-        ColoredCRUDLogger.logGet(url);
-        UserDto result = userService.getById(userId);
-        ColoredCRUDLogger.logGetComplete(url, result.toString());
-        return result;
+    @ApiResponse(responseCode = "200", content = @Content(schema = @Schema(implementation = UserDto.class)))
+    @ApiResponse(responseCode = "304", description = "Версия из If-None-Match не изменилась")
+    public ResponseEntity<byte[]> getById(@PathVariable Long userId,
+                                          @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false)
+                                          String ifNoneMatch) {
+        UserResponseCache.Entry entry = responseCache.getIfPresent(userId);
+        if (ifNoneMatch != null) {
+            long version = entry != null ? entry.version() : userService.getVersion(userId);
+            if (matchesAny(ifNoneMatch, version)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag(version)).build();
+            }
+        }
+        if (entry == null) {
+            entry = responseCache.get(userId, () -> userService.getById(userId));
+        }
+        return ResponseEntity.ok()
+                .eTag(eTag(entry.version()))
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(entry.body());
+    }
+
+    @GetMapping("/users")
+    @Operation(summary = "Получение списка пользователей по фильтру")
+    public UserPageDto search(@ParameterObject UserFilter filter,
+                              @RequestParam(required = false) String cursor,
+                              @RequestParam(defaultValue = "50") @Positive @Max(500) int size) {
+        return userService.search(filter, cursor, size);
+    }
+
+    @GetMapping(value = "/users", params = "ids", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Получение нескольких пользователей по списку идентификаторов")
+    @ApiResponse(responseCode = "200", content = @Content(schema = @Schema(implementation = UserBatchDto.class)))
+    public ResponseEntity<byte[]> getAllById(@RequestParam
+                                             @Size(min = 1, max = 500, message = "Request 1 to 500 user ids")
+                                             List<Long> ids) throws IOException {
+        Set<Long> requested = new LinkedHashSet<>(ids);
+        requested.remove(null);
+        Map<Long, UserResponseCache.Entry> found = responseCache.getAll(requested, userService::getAllById);
+        ByteArrayOutputStream body = new ByteArrayOutputStream(128 + found.size() * 128);
+        body.write("{\"users\":[".getBytes(StandardCharsets.UTF_8));
+        StringJoiner missing = new StringJoiner(",", "],\"missing\":[", "]}");
+        boolean first = true;
+        for (Long id : requested) {
+            UserResponseCache.Entry entry = found.get(id);
+            if (entry == null) {
+                missing.add(id.toString());
+                continue;
+            }
+            if (!first) {
+                body.write(',');
+            }
+            body.write(entry.body());
+            first = false;
+        }
+        body.write(missing.toString().getBytes(StandardCharsets.UTF_8));
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body.toByteArray());
+    }
+
+    @GetMapping(value = "/users/export", produces = APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Выгрузка всех пользователей в формате NDJSON")
+    public void exportAll(@RequestParam(defaultValue = "false") boolean gzip,
+                          HttpServletResponse response) throws IOException {
+        response.setContentType(APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            GZIPOutputStream out = new GZIPOutputStream(response.getOutputStream(), 64 * 1024);
+            exportService.exportAll(out);
+            out.finish();
+        } else {
+            exportService.exportAll(response.getOutputStream());
+        }
+    }
+
+    @GetMapping(value = "/user/{userId}", produces = MediaTypes.HAL_JSON_VALUE)
+    @Operation(summary = "Получение инфорации о пользователе со ссылками HAL")
+    public ResponseEntity<EntityModel<UserDto>> getByIdHal(@PathVariable Long userId) {
+        UserDto userDto = userService.getById(userId);
+        return ResponseEntity.ok()
+                .eTag(eTag(userDto.getVersion()))
+                .body(EntityModel.of(userDto, linkTo(methodOn(UserController.class).getByIdHal(userId)).withSelfRel()));
     }
 
     @PatchMapping("/user/{userId}")
     @Operation(summary = "Обновление пользователя")
-    public UserDto update(@PathVariable Long userId,
-                          @Validated @RequestBody NewUserDto newUserDto) {
-        String url = String.format("/users/{%s}", userId);
-        ColoredCRUDLogger.logPatch(url, newUserDto.toString());
-        UserDto result = userService.update(userId, newUserDto);
-        ColoredCRUDLogger.logPatchComplete(url, result.toString());
-        return result;
+    @ApiResponse(responseCode = "412", description = "Пользователь изменён после версии из If-Match")
+    public ResponseEntity<UserDto> update(@PathVariable Long userId,
+                                          @Validated @RequestBody NewUserDto newUserDto,
+                                          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        UserDto userDto = userService.update(userId, newUserDto, expectedVersion(ifMatch));
+        return ResponseEntity.ok().eTag(eTag(userDto.getVersion())).body(userDto);
     }
 
     @DeleteMapping("/user/{userId}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     @Operation(summary = "Удаление пользователя")
-    public void delete(@PathVariable Long userId) {
-        String url = String.format("/users/{%s}", userId);
-        ColoredCRUDLogger.logDelete(url);
-        userService.delete(userId);
-        ColoredCRUDLogger.logDeleteComplete(url);
+    @ApiResponse(responseCode = "412", description = "Пользователь изменён после версии из If-Match")
+    public void delete(@PathVariable Long userId,
+                       @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        userService.delete(userId, expectedVersion(ifMatch));
+    }
+
+    private static String eTag(long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Weak comparison, as If-None-Match requires: {@code W/"3"} matches version 3.
+     */
+    private static boolean matchesAny(String ifNoneMatch, long version) {
+        String current = eTag(version);
+        for (String tag : ifNoneMatch.split(",")) {
+            tag = tag.trim();
+            if (tag.equals("*") || tag.equals(current) || tag.equals("W/" + current)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The version a conditional write must find, or {@code null} when any version will do.
+     * If-Match uses strong comparison, so a weak or foreign tag can never match.
+     */
+    private static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            try {
+                return Long.valueOf(tag.substring(1, tag.length() - 1));
+            } catch (NumberFormatException e) {
+                // falls through to the mismatch below
+            }
+        }
+        throw PreconditionFailedException.VERSION_MISMATCH;
     }
 }
\ No newline at end of file
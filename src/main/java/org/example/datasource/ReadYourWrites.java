@@ -0,0 +1,41 @@
+package org.example.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+
+/**
+ * Remembers clients that wrote within the last {@code window} so their reads stay on the primary until
+ * the replicas have caught up. The client table is per instance and bounded; {@link #bind(String)} marks
+ * the current thread for {@link ReplicaRoutingDataSource}.
+ */
+public class ReadYourWrites {
+    private final Cache<String, Boolean> recentWriters;
+    private final ThreadLocal<Boolean> primaryRequired = new ThreadLocal<>();
+
+    public ReadYourWrites(Duration window, long maxClients) {
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .maximumSize(maxClients)
+                .build();
+    }
+
+    public void recordWrite(String client) {
+        recentWriters.put(client, Boolean.TRUE);
+    }
+
+    public void bind(String client) {
+        if (recentWriters.getIfPresent(client) != null) {
+            primaryRequired.set(Boolean.TRUE);
+        }
+    }
+
+    public void unbind() {
+        primaryRequired.remove();
+    }
+
+    public boolean isPrimaryRequired() {
+        return primaryRequired.get() != null;
+    }
+}
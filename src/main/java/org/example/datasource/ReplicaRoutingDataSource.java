@@ -0,0 +1,124 @@
+package org.example.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hands out read-only connections from one of the replicas, picked round-robin or by fewest busy
+ * connections. A replica that fails to connect is skipped for {@code retryAfter}; when none is usable,
+ * or the caller must read its own writes, the connection comes from the primary.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource implements Closeable {
+    private final HikariDataSource primary;
+    private final List<Replica> replicas;
+    private final ReplicaSelection selection;
+    private final ReadYourWrites readYourWrites;
+    private final long retryAfterNanos;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Counter primaryReadsForWriters;
+    private final Counter primaryFallbacks;
+
+    public ReplicaRoutingDataSource(HikariDataSource primary, List<HikariDataSource> replicas,
+                                    ReplicaSelection selection, ReadYourWrites readYourWrites, Duration retryAfter,
+                                    MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = replicas.stream()
+                .map(replica -> new Replica(replica, meterRegistry.counter("datasource.routing",
+                        "target", replica.getPoolName(), "reason", "replica")))
+                .toList();
+        this.selection = selection;
+        this.readYourWrites = readYourWrites;
+        this.retryAfterNanos = retryAfter.toNanos();
+        this.primaryReadsForWriters = meterRegistry.counter("datasource.routing",
+                "target", primary.getPoolName(), "reason", "read-your-writes");
+        this.primaryFallbacks = meterRegistry.counter("datasource.routing",
+                "target", primary.getPoolName(), "reason", "fallback");
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return getConnection(null, null);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        if (readYourWrites.isPrimaryRequired()) {
+            primaryReadsForWriters.increment();
+            return connect(primary, username, password);
+        }
+        for (Replica replica : candidates()) {
+            try {
+                Connection connection = connect(replica.dataSource, username, password);
+                replica.reads.increment();
+                return connection;
+            } catch (SQLException e) {
+                replica.downUntilNanos = System.nanoTime() + retryAfterNanos;
+                log.warn("Replica {} is unavailable, skipping it for {} ms", replica.dataSource.getPoolName(),
+                        retryAfterNanos / 1_000_000, e);
+            }
+        }
+        primaryFallbacks.increment();
+        return connect(primary, username, password);
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(replica -> replica.dataSource.close());
+    }
+
+    private List<Replica> candidates() {
+        long now = System.nanoTime();
+        List<Replica> candidates = new ArrayList<>(replicas.size());
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (now - replica.downUntilNanos >= 0) {
+                candidates.add(replica);
+            }
+        }
+        if (selection == ReplicaSelection.LEAST_LOADED) {
+            // snapshot the loads so the ordering stays consistent while connections come and go
+            Map<Replica, Integer> loads = new IdentityHashMap<>();
+            candidates.forEach(replica -> loads.put(replica, replica.load()));
+            candidates.sort(Comparator.comparingInt(loads::get));
+        }
+        return candidates;
+    }
+
+    private static Connection connect(HikariDataSource dataSource, String username, String password)
+            throws SQLException {
+        return username == null ? dataSource.getConnection() : dataSource.getConnection(username, password);
+    }
+
+    private static final class Replica {
+        private final HikariDataSource dataSource;
+        private final Counter reads;
+        private volatile long downUntilNanos = System.nanoTime();
+
+        private Replica(HikariDataSource dataSource, Counter reads) {
+            this.dataSource = dataSource;
+            this.reads = reads;
+        }
+
+        private int load() {
+            HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+            return pool == null ? 0 : pool.getActiveConnections() + pool.getThreadsAwaitingConnection();
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package org.example.datasource;
+
+public enum ReplicaSelection {
+    ROUND_ROBIN,
+    LEAST_LOADED
+}
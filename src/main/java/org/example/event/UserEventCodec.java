@@ -0,0 +1,116 @@
+package org.example.event;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.model.dto.UserEvent;
+import org.example.model.dto.UserEventType;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Wire format of {@link UserEvent} records on the user-events topic.
+ * <pre>
+ * offset  size  field
+ * 0       1     format version ({@value #VERSION})
+ * 1       1     operation code ({@link UserEventType#getCode()})
+ * 2       8     user id, big-endian
+ * 10      8     event time, epoch millis, big-endian
+ * 18      2     email length in UTF-8 bytes, big-endian
+ * 20      n     email, UTF-8
+ * </pre>
+ * Payloads starting with {@code '{'} are the JSON fallback encoding and are decoded as such.
+ */
+public final class UserEventCodec {
+    public static final byte VERSION = 1;
+    static final int HEADER_LENGTH = 20;
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private UserEventCodec() {
+    }
+
+    public static byte[] encode(UserEvent event) {
+        String email = event.getEmail();
+        int emailLength = utf8Length(email);
+        if (emailLength > 0xFFFF) {
+            throw new IllegalArgumentException("Email is too long to encode: " + emailLength + " bytes");
+        }
+        byte[] data = new byte[HEADER_LENGTH + emailLength];
+        data[0] = VERSION;
+        data[1] = event.getOperation().getCode();
+        writeLong(data, 2, event.getUserId());
+        writeLong(data, 10, event.getTimestamp());
+        data[18] = (byte) (emailLength >>> 8);
+        data[19] = (byte) emailLength;
+        if (emailLength == email.length()) {
+            for (int i = 0; i < emailLength; i++) {
+                data[HEADER_LENGTH + i] = (byte) email.charAt(i);
+            }
+        } else {
+            System.arraycopy(email.getBytes(StandardCharsets.UTF_8), 0, data, HEADER_LENGTH, emailLength);
+        }
+        return data;
+    }
+
+    public static byte[] encodeJson(UserEvent event) {
+        try {
+            return JSON.writeValueAsBytes(event);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static UserEvent decode(byte[] data) {
+        if (data.length > 0 && data[0] == '{') {
+            return decodeJson(data);
+        }
+        if (data.length < HEADER_LENGTH) {
+            throw new IllegalArgumentException("User event is truncated: " + data.length + " bytes");
+        }
+        if (data[0] != VERSION) {
+            throw new IllegalArgumentException("Unsupported user event version " + data[0]);
+        }
+        int emailLength = (data[18] & 0xFF) << 8 | data[19] & 0xFF;
+        if (data.length != HEADER_LENGTH + emailLength) {
+            throw new IllegalArgumentException("User event length " + data.length + " does not match header");
+        }
+        return new UserEvent(UserEventType.fromCode(data[1]),
+                readLong(data, 2),
+                new String(data, HEADER_LENGTH, emailLength, StandardCharsets.UTF_8),
+                readLong(data, 10));
+    }
+
+    private static UserEvent decodeJson(byte[] data) {
+        try {
+            return JSON.readValue(data, UserEvent.class);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Malformed JSON user event", e);
+        }
+    }
+
+    private static int utf8Length(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= 0x80) {
+                return value.getBytes(StandardCharsets.UTF_8).length;
+            }
+        }
+        return value.length();
+    }
+
+    private static void writeLong(byte[] data, int offset, long value) {
+        for (int i = 7; i >= 0; i--) {
+            data[offset + i] = (byte) value;
+            value >>>= 8;
+        }
+    }
+
+    private static long readLong(byte[] data, int offset) {
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = value << 8 | data[offset + i] & 0xFF;
+        }
+        return value;
+    }
+}
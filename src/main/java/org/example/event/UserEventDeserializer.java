@@ -0,0 +1,19 @@
+package org.example.event;
+
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.example.model.dto.UserEvent;
+
+public class UserEventDeserializer implements Deserializer<UserEvent> {
+    @Override
+    public UserEvent deserialize(String topic, byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        try {
+            return UserEventCodec.decode(data);
+        } catch (IllegalArgumentException e) {
+            throw new SerializationException("Cannot decode user event from " + topic, e);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package org.example.event;
+
+import org.apache.kafka.common.serialization.Serializer;
+import org.example.model.dto.UserEvent;
+
+public class UserEventSerializer implements Serializer<UserEvent> {
+    private final boolean json;
+
+    public UserEventSerializer(String format) {
+        this.json = "json".equalsIgnoreCase(format);
+    }
+
+    @Override
+    public byte[] serialize(String topic, UserEvent event) {
+        if (event == null) {
+            return null;
+        }
+        return json ? UserEventCodec.encodeJson(event) : UserEventCodec.encode(event);
+    }
+}
@@ -1,5 +1,6 @@
 package org.example.exception;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.Builder;
 import lombok.Getter;
@@ -11,6 +12,7 @@ import java.time.LocalDateTime;
 @Getter
 @Setter
 @Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
 @Schema(description = "Сведения об ошибке")
 public class ApiError {
     @Schema(description = "Список стектрейсов или описания ошибок")
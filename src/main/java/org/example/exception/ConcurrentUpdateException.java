@@ -0,0 +1,10 @@
+package org.example.exception;
+
+public class ConcurrentUpdateException extends RuntimeException {
+    public static final ConcurrentUpdateException USER_MODIFIED =
+            new ConcurrentUpdateException("User was modified by a concurrent request, retry the update .");
+
+    public ConcurrentUpdateException(String message) {
+        super(message, null, false, false);
+    }
+}
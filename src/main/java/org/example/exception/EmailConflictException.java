@@ -1,7 +1,9 @@
 package org.example.exception;
 
 public class EmailConflictException extends RuntimeException {
+    public static final EmailConflictException EMAIL_EXISTS = new EmailConflictException("Such user email already exists .");
+
     public EmailConflictException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
-}
\ No newline at end of file
+}
@@ -1,7 +1,13 @@
 package org.example.exception;
 
+/**
+ * Thrown for every lookup of a missing id, so it skips stack trace capture;
+ * {@link #USER_NOT_FOUND} can be rethrown without allocating.
+ */
 public class EntityNotFoundException extends RuntimeException {
+    public static final EntityNotFoundException USER_NOT_FOUND = new EntityNotFoundException("User not found .");
+
     public EntityNotFoundException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
-}
\ No newline at end of file
+}
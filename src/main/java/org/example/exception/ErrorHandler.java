@@ -1,11 +1,15 @@
 package org.example.exception;
 
+import jakarta.validation.ConstraintViolationException;
 import lombok.extern.slf4j.Slf4j;
+import org.example.logger.LogRateLimiter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
 
 import java.io.PrintWriter;
 import java.io.StringWriter;
@@ -17,54 +21,88 @@ public class ErrorHandler {
     private static final String ERROR_COLOR = "\u001b[31m";
     private static final String RESET = "\u001B[0m";
 
+    private final ErrorMode mode;
+    private final LogRateLimiter logRateLimiter;
+
+    public ErrorHandler(@Value("${app.errors.mode:minimal}") ErrorMode mode,
+                        @Value("${app.errors.log-rate:10}") int logRate) {
+        this.mode = mode;
+        this.logRateLimiter = new LogRateLimiter(logRate);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ApiError handleValidationExceptions(final MethodArgumentNotValidException e) {
-        log.error("400 {}", e.getMessage(), e);
-        StringWriter sw = new StringWriter();
-        PrintWriter pw = new PrintWriter(sw);
-        e.printStackTrace(pw);
-        String stackTrace = sw.toString();
-        return ApiError.builder()
-                .status(HttpStatus.BAD_REQUEST)
-                .message(ERROR_COLOR + e.getMessage() + RESET)
-                .reason("Incorrectly made request.")
-                .errors(stackTrace)
-                .timestamp(LocalDateTime.now())
-                .build();
+        return toApiError(HttpStatus.BAD_REQUEST, "Incorrectly made request.", e);
+    }
+
+    @ExceptionHandler(WebExchangeBindException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ApiError handleWebExchangeBindException(final WebExchangeBindException e) {
+        return toApiError(HttpStatus.BAD_REQUEST, "Incorrectly made request.", e);
+    }
+
+    @ExceptionHandler(ConstraintViolationException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ApiError handleConstraintViolationException(final ConstraintViolationException e) {
+        return toApiError(HttpStatus.BAD_REQUEST, "Incorrectly made request.", e);
+    }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ApiError handleInvalidCursorException(final InvalidCursorException e) {
+        return toApiError(HttpStatus.BAD_REQUEST, "Incorrectly made request.", e);
     }
 
     @ExceptionHandler(EntityNotFoundException.class)
     @ResponseStatus(HttpStatus.NOT_FOUND)
     public ApiError handleEntityNotFoundException(final EntityNotFoundException e) {
-        log.error("404 {}", e.getMessage(), e);
-        StringWriter sw = new StringWriter();
-        PrintWriter pw = new PrintWriter(sw);
-        e.printStackTrace(pw);
-        String stackTrace = sw.toString();
-        return ApiError.builder()
-                .status(HttpStatus.NOT_FOUND)
-                .message(ERROR_COLOR + e.getMessage() + RESET)
-                .reason("The required object was not found.")
-                .errors(stackTrace)
-                .timestamp(LocalDateTime.now())
-                .build();
+        return toApiError(HttpStatus.NOT_FOUND, "The required object was not found.", e);
     }
 
     @ExceptionHandler(EmailConflictException.class)
     @ResponseStatus(HttpStatus.CONFLICT)
     public ApiError handleValidationExceptions(final EmailConflictException e) {
-        log.error("409 {}", e.getMessage(), e);
-        StringWriter sw = new StringWriter();
-        PrintWriter pw = new PrintWriter(sw);
-        e.printStackTrace(pw);
-        String stackTrace = sw.toString();
+        return toApiError(HttpStatus.CONFLICT, "User email conflict .", e);
+    }
+
+    @ExceptionHandler(ConcurrentUpdateException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ApiError handleConcurrentUpdateException(final ConcurrentUpdateException e) {
+        return toApiError(HttpStatus.CONFLICT, "User update conflict .", e);
+    }
+
+    @ExceptionHandler(PreconditionFailedException.class)
+    @ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+    public ApiError handlePreconditionFailedException(final PreconditionFailedException e) {
+        return toApiError(HttpStatus.PRECONDITION_FAILED, "User version precondition failed .", e);
+    }
+
+    private ApiError toApiError(HttpStatus status, String reason, Exception e) {
+        long skipped = logRateLimiter.tryAcquire();
+        if (mode == ErrorMode.VERBOSE) {
+            if (skipped >= 0) {
+                log.error("{} {} ({} similar errors skipped)", status.value(), e.getMessage(), skipped, e);
+            }
+            StringWriter sw = new StringWriter();
+            PrintWriter pw = new PrintWriter(sw);
+            e.printStackTrace(pw);
+            return ApiError.builder()
+                    .status(status)
+                    .message(ERROR_COLOR + e.getMessage() + RESET)
+                    .reason(reason)
+                    .errors(sw.toString())
+                    .timestamp(LocalDateTime.now())
+                    .build();
+        }
+        if (skipped >= 0) {
+            log.warn("{} {} ({} similar errors skipped)", status.value(), e.getMessage(), skipped);
+        }
         return ApiError.builder()
-                .status(HttpStatus.CONFLICT)
-                .message(ERROR_COLOR + e.getMessage() + RESET)
-                .reason("User email conflict .")
-                .errors(stackTrace)
+                .status(status)
+                .message(e.getMessage())
+                .reason(reason)
                 .timestamp(LocalDateTime.now())
                 .build();
     }
-}
\ No newline at end of file
+}
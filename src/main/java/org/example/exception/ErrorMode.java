@@ -0,0 +1,12 @@
+package org.example.exception;
+
+public enum ErrorMode {
+    /**
+     * Status, reason and plain message only.
+     */
+    MINIMAL,
+    /**
+     * Adds the stack trace and colored message, for local debugging.
+     */
+    VERBOSE
+}
@@ -0,0 +1,9 @@
+package org.example.exception;
+
+public class InvalidCursorException extends RuntimeException {
+    public static final InvalidCursorException INVALID_CURSOR = new InvalidCursorException("Invalid page cursor .");
+
+    public InvalidCursorException(String message) {
+        super(message, null, false, false);
+    }
+}
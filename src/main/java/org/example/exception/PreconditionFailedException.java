@@ -0,0 +1,10 @@
+package org.example.exception;
+
+public class PreconditionFailedException extends RuntimeException {
+    public static final PreconditionFailedException VERSION_MISMATCH =
+            new PreconditionFailedException("User was modified, If-Match does not match its current version .");
+
+    public PreconditionFailedException(String message) {
+        super(message, null, false, false);
+    }
+}
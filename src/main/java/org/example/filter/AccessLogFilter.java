@@ -0,0 +1,33 @@
+package org.example.filter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.example.logger.AccessLogger;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+@Component
+@Profile("!reactive")
+@RequiredArgsConstructor
+public class AccessLogFilter extends OncePerRequestFilter {
+    private final AccessLogger accessLogger;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long startedAtMillis = System.currentTimeMillis();
+        long started = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            accessLogger.log(request.getMethod(), request.getRequestURI(), response.getStatus(),
+                    startedAtMillis, System.nanoTime() - started);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package org.example.filter;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+/**
+ * Identifies the calling client: its API key when it sends one of the configured {@code app.clients.api-keys},
+ * otherwise its address. Unknown keys are ignored rather than trusted, so rotating a made-up header cannot
+ * escape a per-client limit or fill the client tables with one entry per request.
+ */
+@Component
+@Profile("!reactive")
+public class ClientKeys {
+    public static final String API_KEY_HEADER = "X-Api-Key";
+
+    private final Set<String> apiKeys;
+
+    public ClientKeys(@Value("${app.clients.api-keys:}") Set<String> apiKeys) {
+        this.apiKeys = Set.copyOf(apiKeys);
+    }
+
+    public String of(HttpServletRequest request) {
+        String apiKey = request.getHeader(API_KEY_HEADER);
+        return apiKey != null && apiKeys.contains(apiKey) ? "key:" + apiKey : "ip:" + request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,102 @@
+package org.example.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.example.exception.ApiError;
+import org.example.limit.AdaptiveConcurrencyLimiter;
+import org.example.limit.ServiceTime;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Sheds user API requests above the adaptive concurrency limit with 503 and {@code Retry-After} instead of
+ * letting them queue for a database connection. Writes are shed first, see {@link AdaptiveConcurrencyLimiter}.
+ * The limit follows the time requests spend in the user service ({@link ServiceTime}), not the whole chain:
+ * cache hits, 304s and slow clients say nothing about database pressure and release without a sample.
+ */
+@Component
+@Profile("!reactive")
+@ConditionalOnProperty(name = "app.concurrency-limit.enabled", matchIfMissing = true)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final ServiceTime serviceTime;
+    private final ObjectMapper objectMapper;
+    private final String retryAfterSeconds;
+    private final Counter rejectedReads;
+    private final Counter rejectedWrites;
+
+    public ConcurrencyLimitFilter(@Value("${app.concurrency-limit.initial:20}") int initialLimit,
+                                  @Value("${app.concurrency-limit.min:4}") int minLimit,
+                                  @Value("${app.concurrency-limit.max:200}") int maxLimit,
+                                  @Value("${app.concurrency-limit.write-share:0.8}") double writeShare,
+                                  @Value("${app.concurrency-limit.retry-after:PT1S}") Duration retryAfter,
+                                  ServiceTime serviceTime,
+                                  ObjectMapper objectMapper,
+                                  MeterRegistry meterRegistry) {
+        this.limiter = new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit, writeShare);
+        this.serviceTime = serviceTime;
+        this.objectMapper = objectMapper;
+        this.retryAfterSeconds = String.valueOf(Math.max(1, retryAfter.toSeconds()));
+        this.rejectedReads = meterRegistry.counter("user.concurrency.rejected", "priority", "read");
+        this.rejectedWrites = meterRegistry.counter("user.concurrency.rejected", "priority", "write");
+        Gauge.builder("user.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .register(meterRegistry);
+        Gauge.builder("user.concurrency.in.flight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        return !Requests.isUserApi(uri) || Requests.isBulk(uri);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean write = Requests.isWrite(request.getMethod());
+        if (!limiter.tryAcquire(write)) {
+            (write ? rejectedWrites : rejectedReads).increment();
+            reject(response);
+            return;
+        }
+        long before = serviceTime.total();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            long serviceNanos = serviceTime.total() - before;
+            if (serviceNanos > 0) {
+                limiter.release(serviceNanos);
+            } else {
+                limiter.release();
+            }
+        }
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), ApiError.builder()
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .reason("Too many concurrent requests .")
+                .timestamp(LocalDateTime.now())
+                .build());
+    }
+}
@@ -0,0 +1,119 @@
+package org.example.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.example.config.RateLimitProperties;
+import org.example.exception.ApiError;
+import org.example.limit.ClientRateLimiter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Rate limits user API requests per client ({@link ClientKeys}) with separate token buckets for reads,
+ * writes and any endpoint configured on its own. Every response carries the {@code RateLimit-Limit},
+ * {@code RateLimit-Remaining} and {@code RateLimit-Reset} headers of the bucket it drew from; rejected
+ * requests get 429 with {@code Retry-After}. Runs before the concurrency limit so throttled clients do not
+ * take its permits.
+ */
+@Component
+@Profile("!reactive")
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+@ConditionalOnProperty(name = "app.rate-limit.enabled", matchIfMissing = true)
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimitFilter extends OncePerRequestFilter {
+    private final ClientRateLimiter limiter;
+    private final ClientKeys clientKeys;
+    private final ObjectMapper objectMapper;
+    private final Rule read;
+    private final Rule write;
+    private final List<EndpointRule> endpoints;
+
+    public RateLimitFilter(RateLimitProperties properties, ClientKeys clientKeys, ObjectMapper objectMapper,
+                           MeterRegistry meterRegistry) {
+        this.limiter = new ClientRateLimiter(properties.getIdleTimeout(), properties.getMaxBuckets());
+        this.clientKeys = clientKeys;
+        this.objectMapper = objectMapper;
+        this.read = rule("read", properties.getRead(), meterRegistry);
+        this.write = rule("write", properties.getWrite(), meterRegistry);
+        this.endpoints = properties.getEndpoints().stream()
+                .map(endpoint -> new EndpointRule(endpoint.getMethod(),
+                        PathPatternParser.defaultInstance.parse(endpoint.getPath()),
+                        rule(endpoint.getMethod() + " " + endpoint.getPath(), endpoint, meterRegistry)))
+                .toList();
+        Gauge.builder("user.rate-limit.buckets", limiter, ClientRateLimiter::estimatedSize)
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !Requests.isUserApi(request.getRequestURI());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Rule rule = ruleFor(request);
+        ClientRateLimiter.Decision decision = limiter.tryAcquire(clientKeys.of(request), rule.policy());
+        response.setHeader("RateLimit-Limit", String.valueOf(decision.limit()));
+        response.setHeader("RateLimit-Remaining", String.valueOf(decision.remaining()));
+        response.setHeader("RateLimit-Reset", String.valueOf(decision.resetSeconds()));
+        if (!decision.allowed()) {
+            rule.rejected().increment();
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(decision.retryAfterSeconds()));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(), ApiError.builder()
+                    .status(HttpStatus.TOO_MANY_REQUESTS)
+                    .reason("Too many requests .")
+                    .timestamp(LocalDateTime.now())
+                    .build());
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+
+    private Rule ruleFor(HttpServletRequest request) {
+        if (!endpoints.isEmpty()) {
+            PathContainer path = PathContainer.parsePath(request.getRequestURI());
+            for (EndpointRule endpoint : endpoints) {
+                if ((endpoint.method() == null || endpoint.method().equalsIgnoreCase(request.getMethod()))
+                        && endpoint.path().matches(path)) {
+                    return endpoint.rule();
+                }
+            }
+        }
+        return Requests.isWrite(request.getMethod()) ? write : read;
+    }
+
+    private static Rule rule(String name, RateLimitProperties.Budget budget, MeterRegistry meterRegistry) {
+        return new Rule(new ClientRateLimiter.Policy(name, budget.getCapacity(), budget.getRefillPerSecond()),
+                meterRegistry.counter("user.rate-limit.rejected", "policy", name));
+    }
+
+    private record Rule(ClientRateLimiter.Policy policy, Counter rejected) {
+    }
+
+    private record EndpointRule(String method, PathPattern path, Rule rule) {
+    }
+}
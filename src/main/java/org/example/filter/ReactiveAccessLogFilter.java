@@ -0,0 +1,33 @@
+package org.example.filter;
+
+import lombok.RequiredArgsConstructor;
+import org.example.logger.AccessLogger;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+@Component
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveAccessLogFilter implements WebFilter {
+    private final AccessLogger accessLogger;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        long startedAtMillis = System.currentTimeMillis();
+        long started = System.nanoTime();
+        return chain.filter(exchange)
+                .doFinally(signal -> {
+                    HttpStatusCode status = exchange.getResponse().getStatusCode();
+                    accessLogger.log(exchange.getRequest().getMethod().name(),
+                            exchange.getRequest().getPath().value(),
+                            status == null ? 200 : status.value(),
+                            startedAtMillis,
+                            System.nanoTime() - started);
+                });
+    }
+}
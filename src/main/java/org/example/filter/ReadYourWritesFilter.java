@@ -0,0 +1,47 @@
+package org.example.filter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.example.datasource.ReadYourWrites;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Records write requests per client and keeps that client's reads on the primary for a while after. The
+ * write is recorded before and again after the chain, so the window also covers a read sent as soon as
+ * the response arrives.
+ */
+@Component
+@Profile("!reactive")
+@ConditionalOnProperty(name = "app.datasource.replicas[0].url")
+@RequiredArgsConstructor
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+    private final ReadYourWrites readYourWrites;
+    private final ClientKeys clientKeys;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String client = clientKeys.of(request);
+        boolean write = Requests.isWrite(request.getMethod());
+        if (write) {
+            readYourWrites.recordWrite(client);
+        }
+        readYourWrites.bind(client);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            readYourWrites.unbind();
+            if (write) {
+                readYourWrites.recordWrite(client);
+            }
+        }
+    }
+}
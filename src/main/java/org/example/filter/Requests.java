@@ -0,0 +1,22 @@
+package org.example.filter;
+
+final class Requests {
+
+    private Requests() {
+    }
+
+    static boolean isWrite(String method) {
+        return !("GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method));
+    }
+
+    static boolean isUserApi(String uri) {
+        return uri.equals("/user") || uri.startsWith("/user/") || uri.equals("/users") || uri.startsWith("/users/");
+    }
+
+    /**
+     * Imports and exports stream for as long as the data takes, so their timings say nothing about load.
+     */
+    static boolean isBulk(String uri) {
+        return uri.startsWith("/users/import") || uri.startsWith("/users/export");
+    }
+}
@@ -0,0 +1,95 @@
+package org.example.limit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Concurrency limit that follows latency, after Netflix's gradient limiter: the limit grows while the
+ * short-term average round trip stays within {@value #TOLERANCE}x of the long-term one and shrinks in
+ * proportion (down to half per sample) once it rises above. Writes may only take {@code writeShare} of
+ * the limit, so reads still get through when the service is saturated.
+ * <p>
+ * Limit and averages live in one immutable {@link State} swapped by CAS, so releasing threads never
+ * serialize on a lock; a thread that loses the race recomputes from the winner's state.
+ */
+public class AdaptiveConcurrencyLimiter {
+    private static final double TOLERANCE = 1.5;
+    private static final double SMOOTHING = 0.2;
+    private static final double SHORT_ALPHA = 2.0 / (10 + 1);
+    private static final double LONG_ALPHA = 2.0 / (600 + 1);
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double writeShare;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicReference<State> state;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double writeShare) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.writeShare = writeShare;
+        this.state = new AtomicReference<>(new State(initialLimit, 0, 0));
+    }
+
+    public boolean tryAcquire(boolean write) {
+        double limit = state.get().limit();
+        int max = write ? Math.max(1, (int) (limit * writeShare)) : (int) limit;
+        for (int current = inFlight.get(); current < max; current = inFlight.get()) {
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Releases a permit taken by {@link #tryAcquire(boolean)} and feeds its round trip into the limit.
+     */
+    public void release(long rttNanos) {
+        int concurrency = inFlight.getAndDecrement();
+        State current;
+        State next;
+        do {
+            current = state.get();
+            next = current.update(rttNanos, concurrency, minLimit, maxLimit);
+        } while (!state.compareAndSet(current, next));
+    }
+
+    /**
+     * Releases a permit without a round trip, for requests whose latency says nothing about the service.
+     */
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    public int getLimit() {
+        return (int) state.get().limit();
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private record State(double limit, double shortRtt, double longRtt) {
+
+        State update(long rttNanos, int concurrency, int minLimit, int maxLimit) {
+            if (longRtt == 0) {
+                return new State(limit, rttNanos, rttNanos);
+            }
+            double nextShortRtt = shortRtt + SHORT_ALPHA * (rttNanos - shortRtt);
+            double nextLongRtt = longRtt + LONG_ALPHA * (rttNanos - longRtt);
+            if (nextLongRtt > 2 * nextShortRtt) {
+                // latency dropped for good; let the baseline follow instead of growing the limit on stale data
+                nextLongRtt *= 0.95;
+            }
+            if (concurrency < limit / 2) {
+                // far below the limit, latency says nothing about where the limit should be
+                return new State(limit, nextShortRtt, nextLongRtt);
+            }
+            double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * nextLongRtt / nextShortRtt));
+            double target = limit * gradient + Math.sqrt(limit);
+            double nextLimit = Math.max(minLimit, Math.min(maxLimit, limit * (1 - SMOOTHING) + target * SMOOTHING));
+            return new State(nextLimit, nextShortRtt, nextLongRtt);
+        }
+    }
+}
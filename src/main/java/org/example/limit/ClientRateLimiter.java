@@ -0,0 +1,58 @@
+package org.example.limit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * One {@link TokenBucket} per client and policy. The table is bounded by {@code maxBuckets} and drops buckets
+ * idle for {@code idleTimeout}; an idle timeout shorter than a policy's refill time only makes it more lenient.
+ */
+public class ClientRateLimiter {
+    private final Cache<String, TokenBucket> buckets;
+    private final LongSupplier nanoClock;
+
+    public ClientRateLimiter(Duration idleTimeout, long maxBuckets) {
+        this(idleTimeout, maxBuckets, System::nanoTime);
+    }
+
+    ClientRateLimiter(Duration idleTimeout, long maxBuckets, LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+        this.buckets = Caffeine.newBuilder()
+                .expireAfterAccess(idleTimeout)
+                .maximumSize(maxBuckets)
+                .ticker(nanoClock::getAsLong)
+                .build();
+    }
+
+    public Decision tryAcquire(String client, Policy policy) {
+        long now = nanoClock.getAsLong();
+        TokenBucket bucket = buckets.get(policy.name() + '|' + client,
+                key -> new TokenBucket(policy.capacity(), policy.refillPerSecond(), now));
+        long remaining = bucket.tryConsume(now);
+        return new Decision(remaining >= 0, bucket.getCapacity(), Math.max(0, remaining),
+                toSeconds(bucket.nanosUntilFull(now)),
+                remaining >= 0 ? 0 : Math.max(1, toSeconds(bucket.nanosUntilAvailable(now))));
+    }
+
+    public long estimatedSize() {
+        return buckets.estimatedSize();
+    }
+
+    void cleanUp() {
+        buckets.cleanUp();
+    }
+
+    private static long toSeconds(long nanos) {
+        return (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+    }
+
+    public record Policy(String name, long capacity, double refillPerSecond) {
+    }
+
+    public record Decision(boolean allowed, long limit, long remaining, long resetSeconds, long retryAfterSeconds) {
+    }
+}
@@ -0,0 +1,21 @@
+package org.example.limit;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Running total of time the current thread spent inside user service calls, fed by the metrics aspect.
+ * A caller reads {@link #total()} before and after a unit of work; the difference is the service time
+ * of that work, excluding cache hits, serialization and writing to slow clients.
+ */
+@Component
+public class ServiceTime {
+    private final ThreadLocal<long[]> total = ThreadLocal.withInitial(() -> new long[1]);
+
+    public void record(long nanos) {
+        total.get()[0] += nanos;
+    }
+
+    public long total() {
+        return total.get()[0];
+    }
+}
@@ -0,0 +1,50 @@
+package org.example.limit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket of {@code capacity} tokens refilled at {@code refillPerSecond}, kept in the GCRA
+ * form: a single theoretical arrival time that each token taken pushes {@code 1 / refillPerSecond} further
+ * ahead. The bucket is full when that time is not after now, and empty when it is a whole burst ahead.
+ */
+public class TokenBucket {
+    private final long capacity;
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final AtomicLong arrivalNanos;
+
+    public TokenBucket(long capacity, double refillPerSecond, long nowNanos) {
+        this.capacity = capacity;
+        this.intervalNanos = Math.max(1, (long) (1_000_000_000L / refillPerSecond));
+        this.burstNanos = capacity * intervalNanos;
+        this.arrivalNanos = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * @return the tokens left after taking one, or {@code -1} if the bucket is empty
+     */
+    public long tryConsume(long nowNanos) {
+        while (true) {
+            long arrival = arrivalNanos.get();
+            long next = (arrival - nowNanos < 0 ? nowNanos : arrival) + intervalNanos;
+            if (next - nowNanos > burstNanos) {
+                return -1;
+            }
+            if (arrivalNanos.compareAndSet(arrival, next)) {
+                return (burstNanos - (next - nowNanos)) / intervalNanos;
+            }
+        }
+    }
+
+    public long getCapacity() {
+        return capacity;
+    }
+
+    public long nanosUntilAvailable(long nowNanos) {
+        return Math.max(0, arrivalNanos.get() + intervalNanos - burstNanos - nowNanos);
+    }
+
+    public long nanosUntilFull(long nowNanos) {
+        return Math.max(0, arrivalNanos.get() - nowNanos);
+    }
+}
@@ -0,0 +1,4 @@
+package org.example.logger;
+
+public record AccessLogEntry(long startedAtMillis, String method, String path, int status, long durationNanos) {
+}
@@ -0,0 +1,54 @@
+package org.example.logger;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded multi-producer, single-consumer ring. Producers claim a slot with one CAS on {@code tail}
+ * and never block: {@link #offer} returns {@code false} when the consumer has fallen a full ring behind.
+ */
+class AccessLogRing {
+    private final AtomicReferenceArray<AccessLogEntry> slots;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+
+    AccessLogRing(int capacity) {
+        if (Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Ring capacity must be a power of two: " + capacity);
+        }
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+    }
+
+    boolean offer(AccessLogEntry entry) {
+        long claimed;
+        do {
+            claimed = tail.get();
+            if (claimed - head.get() > mask) {
+                return false;
+            }
+        } while (!tail.compareAndSet(claimed, claimed + 1));
+        slots.lazySet((int) (claimed & mask), entry);
+        return true;
+    }
+
+    int size() {
+        return (int) (tail.get() - head.get());
+    }
+
+    /**
+     * Consumer side only.
+     */
+    AccessLogEntry poll() {
+        long current = head.get();
+        int index = (int) (current & mask);
+        AccessLogEntry entry = slots.get(index);
+        if (entry == null) {
+            return null;
+        }
+        slots.lazySet(index, null);
+        head.lazySet(current + 1);
+        return entry;
+    }
+}
@@ -0,0 +1,108 @@
+package org.example.logger;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Access log written by a background thread. The request thread only checks the level and sample rate
+ * and hands an {@link AccessLogEntry} to a lock-free ring; formatting and appender I/O happen on the writer.
+ * Server errors bypass sampling. Entries are dropped (and counted) when the ring is full.
+ * <p>
+ * An idle writer parks until a request thread hands it an entry and unparks it; the timed park is only
+ * a backstop for a wake-up lost between the writer's last poll and the producer's publish.
+ */
+@Component
+public class AccessLogger {
+    private static final Logger ACCESS_LOG = LoggerFactory.getLogger("access");
+    private static final long IDLE_PARK_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final AccessLogRing ring;
+    private final double sampleRate;
+    private final Counter droppedCounter;
+    private final AtomicBoolean writerParked = new AtomicBoolean();
+    private volatile boolean running;
+    private volatile Thread writer;
+
+    public AccessLogger(@Value("${app.access-log.buffer-size:8192}") int bufferSize,
+                        @Value("${app.access-log.sample-rate:1.0}") double sampleRate,
+                        MeterRegistry meterRegistry) {
+        this.ring = new AccessLogRing(bufferSize);
+        this.sampleRate = sampleRate;
+        this.droppedCounter = meterRegistry.counter("access.log.dropped");
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        writer = Thread.ofPlatform().name("access-log-writer").daemon().start(this::writeLoop);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(writer);
+        writer.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    public void log(String method, String path, int status, long startedAtMillis, long durationNanos) {
+        if (!ACCESS_LOG.isInfoEnabled()) {
+            return;
+        }
+        if (status < 500 && sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return;
+        }
+        if (!ring.offer(new AccessLogEntry(startedAtMillis, method, path, status, durationNanos))) {
+            droppedCounter.increment();
+        } else if (writerParked.get() && writerParked.compareAndSet(true, false)) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    int pending() {
+        return ring.size();
+    }
+
+    int drain() {
+        int written = 0;
+        AccessLogEntry entry;
+        while ((entry = ring.poll()) != null) {
+            write(entry);
+            written++;
+        }
+        return written;
+    }
+
+    private void writeLoop() {
+        while (running) {
+            if (drain() == 0) {
+                writerParked.set(true);
+                if (drain() == 0 && running) {
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                }
+                writerParked.set(false);
+            }
+        }
+        drain();
+    }
+
+    private static void write(AccessLogEntry entry) {
+        ACCESS_LOG.info("method={} path={} status={} duration_us={} started={}",
+                entry.method(),
+                entry.path(),
+                entry.status(),
+                TimeUnit.NANOSECONDS.toMicros(entry.durationNanos()),
+                Instant.ofEpochMilli(entry.startedAtMillis()));
+    }
+}
@@ -0,0 +1,46 @@
+package org.example.logger;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Lets at most {@code permitsPerSecond} log statements through per one-second window.
+ * The window is approximate under contention, which is fine for sampling logs.
+ */
+public class LogRateLimiter {
+    private static final long WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final int permitsPerSecond;
+    private final LongSupplier nanoClock;
+    private final AtomicLong window = new AtomicLong();
+    private final AtomicInteger permits = new AtomicInteger();
+    private final AtomicLong dropped = new AtomicLong();
+
+    public LogRateLimiter(int permitsPerSecond) {
+        this(permitsPerSecond, System::nanoTime);
+    }
+
+    LogRateLimiter(int permitsPerSecond, LongSupplier nanoClock) {
+        this.permitsPerSecond = permitsPerSecond;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * @return {@code -1} if the statement should be skipped, otherwise the number of statements
+     * skipped since the previous permitted one
+     */
+    public long tryAcquire() {
+        long now = nanoClock.getAsLong() / WINDOW_NANOS;
+        long current = window.get();
+        if (now != current && window.compareAndSet(current, now)) {
+            permits.set(0);
+        }
+        if (permits.incrementAndGet() > permitsPerSecond) {
+            dropped.incrementAndGet();
+            return -1;
+        }
+        return dropped.getAndSet(0);
+    }
+}
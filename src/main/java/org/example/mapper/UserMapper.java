@@ -10,6 +10,7 @@ import org.mapstruct.Mapping;
 public interface UserMapper {
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "version", ignore = true)
     UserEntity toUserEntity(NewUserDto newUserDto);
 
     UserDto toUserDto(UserEntity userEntity);
@@ -0,0 +1,134 @@
+package org.example.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.validation.ConstraintViolationException;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.example.exception.ConcurrentUpdateException;
+import org.example.exception.EmailConflictException;
+import org.example.exception.EntityNotFoundException;
+import org.example.exception.InvalidCursorException;
+import org.example.exception.PreconditionFailedException;
+import org.example.limit.ServiceTime;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times user service calls ({@code user.service}) and the hand-written JDBC/R2DBC repositories
+ * ({@code user.repository}) by method and outcome. Spring Data repositories are covered by Boot's
+ * {@code spring.data.repository.invocations}. Reactive results are timed from subscription to the terminal signal.
+ * Time spent in service calls on the calling thread is also added to {@link ServiceTime}, the latency signal of
+ * the concurrency limiter.
+ */
+@Aspect
+@Component
+public class MetricsAspect {
+    private final MeterRegistry meterRegistry;
+    private final ServiceTime serviceTime;
+    private final Map<Method, Timer[]> timers = new ConcurrentHashMap<>();
+
+    public MetricsAspect(MeterRegistry meterRegistry, ServiceTime serviceTime) {
+        this.meterRegistry = meterRegistry;
+        this.serviceTime = serviceTime;
+    }
+
+    @Around("execution(* org.example.service.UserService+.*(..))"
+            + " || execution(* org.example.service.ReactiveUserService+.*(..))")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        long started = System.nanoTime();
+        try {
+            return time(joinPoint, "user.service");
+        } finally {
+            serviceTime.record(System.nanoTime() - started);
+        }
+    }
+
+    @Around("execution(public * org.example.repository.UserJdbcRepository.*(..))"
+            + " || execution(public * org.example.repository.UserR2dbcRepository.*(..))")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, "user.repository");
+    }
+
+    private Object time(ProceedingJoinPoint joinPoint, String name) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Timer[] byOutcome = timers.computeIfAbsent(method, m -> new Timer[Outcome.values().length]);
+        long started = System.nanoTime();
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable e) {
+            record(byOutcome, name, method, Outcome.of(e), started);
+            throw e;
+        }
+        if (result instanceof Mono<?> mono) {
+            return Mono.defer(() -> {
+                long subscribed = System.nanoTime();
+                return mono.doOnSuccess(value -> record(byOutcome, name, method, Outcome.OK, subscribed))
+                        .doOnError(e -> record(byOutcome, name, method, Outcome.of(e), subscribed));
+            });
+        }
+        if (result instanceof Flux<?> flux) {
+            return Flux.defer(() -> {
+                long subscribed = System.nanoTime();
+                return flux.doOnComplete(() -> record(byOutcome, name, method, Outcome.OK, subscribed))
+                        .doOnError(e -> record(byOutcome, name, method, Outcome.of(e), subscribed));
+            });
+        }
+        record(byOutcome, name, method, Outcome.OK, started);
+        return result;
+    }
+
+    private void record(Timer[] byOutcome, String name, Method method, Outcome outcome, long started) {
+        Timer timer = byOutcome[outcome.ordinal()];
+        if (timer == null) { // racing registrations get the same timer back from the registry
+            timer = Timer.builder(name)
+                    .tag("class", method.getDeclaringClass().getSimpleName())
+                    .tag("method", method.getName())
+                    .tag("outcome", outcome.tag)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+            byOutcome[outcome.ordinal()] = timer;
+        }
+        timer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+    }
+
+    enum Outcome {
+        OK("ok"),
+        NOT_FOUND("not_found"),
+        CONFLICT("conflict"),
+        PRECONDITION_FAILED("precondition_failed"),
+        INVALID("invalid"),
+        ERROR("error");
+
+        private final String tag;
+
+        Outcome(String tag) {
+            this.tag = tag;
+        }
+
+        static Outcome of(Throwable e) {
+            if (e instanceof EntityNotFoundException) {
+                return NOT_FOUND;
+            }
+            if (e instanceof EmailConflictException || e instanceof ConcurrentUpdateException) {
+                return CONFLICT;
+            }
+            if (e instanceof PreconditionFailedException) {
+                return PRECONDITION_FAILED;
+            }
+            if (e instanceof InvalidCursorException || e instanceof ConstraintViolationException) {
+                return INVALID;
+            }
+            return ERROR;
+        }
+    }
+}
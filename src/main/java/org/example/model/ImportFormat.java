@@ -0,0 +1,22 @@
+package org.example.model;
+
+import java.util.Locale;
+
+public enum ImportFormat {
+    CSV,
+    NDJSON;
+
+    public static ImportFormat fromContentType(String contentType) {
+        if (contentType != null && contentType.toLowerCase(Locale.ROOT).contains("csv")) {
+            return CSV;
+        }
+        return NDJSON;
+    }
+
+    public static ImportFormat fromFileName(String fileName) {
+        if (fileName != null && fileName.toLowerCase(Locale.ROOT).endsWith(".csv")) {
+            return CSV;
+        }
+        return NDJSON;
+    }
+}
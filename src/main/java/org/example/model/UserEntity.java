@@ -28,4 +28,8 @@ public class UserEntity {
 
     @Column(name = "created_at")
     private LocalDateTime createdAt;
+
+    @Version
+    @Column(nullable = false)
+    private Long version;
 }
\ No newline at end of file
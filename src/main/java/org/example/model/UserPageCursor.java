@@ -0,0 +1,32 @@
+package org.example.model;
+
+import org.example.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+public record UserPageCursor(LocalDateTime createdAt, Long id) {
+    private static final char SEPARATOR = '|';
+
+    public static UserPageCursor of(UserEntity entity) {
+        return new UserPageCursor(entity.getCreatedAt(), entity.getId());
+    }
+
+    public static UserPageCursor decode(String cursor) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = value.lastIndexOf(SEPARATOR);
+            return new UserPageCursor(LocalDateTime.parse(value.substring(0, separator)),
+                    Long.parseLong(value.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw InvalidCursorException.INVALID_CURSOR;
+        }
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((createdAt.toString() + SEPARATOR + id).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,38 @@
+package org.example.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.List;
+
+@Builder
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Результат добавления одного пользователя из пакета")
+public class BatchItemResultDto {
+    @Schema(description = "Порядковый номер пользователя в запросе", example = "0")
+    private int index;
+    @Schema(description = "Итог обработки", example = "CREATED")
+    private BatchItemStatus status;
+    @Schema(description = "Созданный пользователь")
+    private UserDto user;
+    @Schema(description = "Причины отказа", example = "[\"email: User email must not be blank\"]")
+    private List<String> errors;
+
+    public static BatchItemResultDto created(int index, UserDto user) {
+        return new BatchItemResultDto(index, BatchItemStatus.CREATED, user, null);
+    }
+
+    public static BatchItemResultDto conflict(int index) {
+        return new BatchItemResultDto(index, BatchItemStatus.CONFLICT, null,
+                List.of("Such user email already exists ."));
+    }
+
+    public static BatchItemResultDto invalid(int index, List<String> errors) {
+        return new BatchItemResultDto(index, BatchItemStatus.INVALID, null, errors);
+    }
+}
@@ -0,0 +1,7 @@
+package org.example.model.dto;
+
+public enum BatchItemStatus {
+    CREATED,
+    CONFLICT,
+    INVALID
+}
@@ -0,0 +1,27 @@
+package org.example.model.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+@Builder
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+@Schema(description = "Отчёт о загрузке пользователей из файла")
+public class ImportReportDto {
+    @Schema(description = "Прочитано записей", example = "1000000")
+    private long read;
+    @Schema(description = "Добавлено пользователей", example = "999990")
+    private long created;
+    @Schema(description = "Отклонено из-за занятого почтового адреса", example = "7")
+    private long conflicts;
+    @Schema(description = "Отклонено из-за ошибок в данных", example = "3")
+    private long invalid;
+    @Schema(description = "Длительность загрузки в миллисекундах", example = "42000")
+    private long elapsedMillis;
+    @Schema(description = "Скорость загрузки, записей в секунду", example = "23809.5")
+    private double recordsPerSecond;
+    @Schema(description = "Файл с отклонёнными записями", example = "/tmp/users-import-20231011231005-rejects.tsv")
+    private String rejectsFile;
+}
@@ -0,0 +1,19 @@
+package org.example.model.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.List;
+
+@Builder
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString(of = {"missing"})
+@Schema(description = "Пользователи по списку идентификаторов")
+public class UserBatchDto {
+    @Schema(description = "Найденные пользователи в порядке запрошенных идентификаторов")
+    private List<UserDto> users;
+    @Schema(description = "Идентификаторы, для которых пользователь не найден", example = "[7, 12]")
+    private List<Long> missing;
+}
@@ -6,8 +6,11 @@ import lombok.*;
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
+@EqualsAndHashCode
 @ToString
 public class UserEvent {
-    private String operation;
+    private UserEventType operation;
+    private long userId;
     private String email;
+    private long timestamp;
 }
@@ -0,0 +1,33 @@
+package org.example.model.dto;
+
+public enum UserEventType {
+    CREATE((byte) 1),
+    UPDATE((byte) 2),
+    DELETE((byte) 3);
+
+    private static final UserEventType[] BY_CODE = new UserEventType[4];
+
+    static {
+        for (UserEventType type : values()) {
+            BY_CODE[type.code] = type;
+        }
+    }
+
+    private final byte code;
+
+    UserEventType(byte code) {
+        this.code = code;
+    }
+
+    public byte getCode() {
+        return code;
+    }
+
+    public static UserEventType fromCode(byte code) {
+        UserEventType type = code > 0 && code < BY_CODE.length ? BY_CODE[code] : null;
+        if (type == null) {
+            throw new IllegalArgumentException("Unknown user event type code " + code);
+        }
+        return type;
+    }
+}
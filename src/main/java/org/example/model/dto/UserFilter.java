@@ -0,0 +1,31 @@
+package org.example.model.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+@Builder
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+@Schema(description = "Фильтр списка пользователей")
+public class UserFilter {
+    @Schema(description = "Начало имени", example = "Иван")
+    private String namePrefix;
+    @Schema(description = "Домен почтового адреса", example = "mail.ru")
+    private String emailDomain;
+    @Schema(description = "Минимальный возраст (включительно)", example = "18")
+    private Integer minAge;
+    @Schema(description = "Максимальный возраст (включительно)", example = "65")
+    private Integer maxAge;
+    @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    @Schema(description = "Созданы не раньше (в формате \"yyyy-MM-dd HH:mm:ss\")", example = "2023-10-11 00:00:00")
+    private LocalDateTime createdFrom;
+    @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    @Schema(description = "Созданы раньше (в формате \"yyyy-MM-dd HH:mm:ss\")", example = "2023-10-12 00:00:00")
+    private LocalDateTime createdTo;
+}
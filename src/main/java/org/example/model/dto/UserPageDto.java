@@ -0,0 +1,20 @@
+package org.example.model.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.List;
+
+@Builder
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString(of = {"nextCursor"})
+@Schema(description = "Страница пользователей")
+public class UserPageDto {
+    @Schema(description = "Пользователи, упорядоченные по дате создания и идентификатору")
+    private List<UserDto> users;
+    @Schema(description = "Курсор следующей страницы, отсутствует на последней странице",
+            example = "MjAyMy0xMC0xMVQyMzoxMDowNXw2")
+    private String nextCursor;
+}
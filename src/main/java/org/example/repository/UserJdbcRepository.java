@@ -0,0 +1,148 @@
+package org.example.repository;
+
+import org.example.model.UserEntity;
+import org.example.model.dto.UserEventType;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+@Profile("!reactive")
+public class UserJdbcRepository {
+    private static final String INSERT_USER =
+            "INSERT INTO users (name, email, age, created_at, version) VALUES (?, ?, ?, ?, 0)";
+    private static final String INSERT_OUTBOX_EVENT =
+            "INSERT INTO user_outbox (operation, user_id, email, created_at) VALUES (?, ?, ?, ?)";
+
+    private static final String TRY_LOCK_OUTBOX_RELAY =
+            "SELECT id FROM user_outbox_relay_lock WHERE id = 1 FOR UPDATE SKIP LOCKED";
+
+    private static final String[] USER_COLUMNS = {"id", "name", "email", "age", "created_at", "version"};
+    private static final RowMapper<UserEntity> USER_ROW_MAPPER = (rs, rowNum) -> new UserEntity(
+            rs.getLong("id"),
+            rs.getString("name"),
+            rs.getString("email"),
+            rs.getInt("age"),
+            rs.getTimestamp("created_at").toLocalDateTime(),
+            rs.getLong("version"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String deleteReturningEmail;
+    private final String deleteVersionReturningEmail;
+
+    public UserJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        // H2 has no DELETE ... RETURNING; it reads deleted rows through a data change delta table instead
+        boolean postgres = Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName())));
+        this.deleteReturningEmail = postgres
+                ? "DELETE FROM users WHERE id = ? RETURNING email"
+                : "SELECT email FROM OLD TABLE (DELETE FROM users WHERE id = ?)";
+        this.deleteVersionReturningEmail = postgres
+                ? "DELETE FROM users WHERE id = ? AND version = ? RETURNING email"
+                : "SELECT email FROM OLD TABLE (DELETE FROM users WHERE id = ? AND version = ?)";
+    }
+
+    public void insertAll(List<UserEntity> users) {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(INSERT_USER, new String[]{"id"})) {
+                for (UserEntity user : users) {
+                    ps.setString(1, user.getName());
+                    ps.setString(2, user.getEmail());
+                    ps.setInt(3, user.getAge());
+                    ps.setTimestamp(4, Timestamp.valueOf(user.getCreatedAt()));
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+                try (ResultSet keys = ps.getGeneratedKeys()) {
+                    for (int i = 0; keys.next(); i++) {
+                        users.get(i).setId(keys.getLong(1));
+                        users.get(i).setVersion(0L);
+                    }
+                }
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Sets only the non-null columns in one UPDATE, bumps the version and reads the row back from the same statement.
+     * Empty if the user does not exist or, when {@code expectedVersion} is given, has another version;
+     * a duplicate email surfaces as {@link org.springframework.dao.DuplicateKeyException}.
+     */
+    public Optional<UserEntity> update(Long id, String name, String email, Integer age, Long expectedVersion) {
+        StringBuilder sql = new StringBuilder("UPDATE users SET ");
+        List<Object> args = new ArrayList<>(4);
+        set(sql, args, "name", name);
+        set(sql, args, "email", email);
+        set(sql, args, "age", age);
+        sql.append(", version = version + 1 WHERE id = ?");
+        args.add(id);
+        if (expectedVersion != null) {
+            sql.append(" AND version = ?");
+            args.add(expectedVersion);
+        }
+        PreparedStatementCreator update = connection -> {
+            PreparedStatement ps = connection.prepareStatement(sql.toString(), USER_COLUMNS);
+            for (int i = 0; i < args.size(); i++) {
+                ps.setObject(i + 1, args.get(i));
+            }
+            return ps;
+        };
+        return jdbcTemplate.execute(update, ps -> {
+            if (ps.executeUpdate() == 0) {
+                return Optional.<UserEntity>empty();
+            }
+            try (ResultSet row = ps.getGeneratedKeys()) {
+                return row.next() ? Optional.of(USER_ROW_MAPPER.mapRow(row, 0)) : Optional.<UserEntity>empty();
+            }
+        });
+    }
+
+    /**
+     * Deletes the user and returns its email for the outbox event, or empty if there was no such user
+     * or, when {@code expectedVersion} is given, it has another version.
+     */
+    public Optional<String> deleteReturningEmail(Long id, Long expectedVersion) {
+        List<String> emails = expectedVersion == null
+                ? jdbcTemplate.query(deleteReturningEmail, (rs, rowNum) -> rs.getString(1), id)
+                : jdbcTemplate.query(deleteVersionReturningEmail, (rs, rowNum) -> rs.getString(1), id, expectedVersion);
+        return emails.stream().findFirst();
+    }
+
+    public void insertOutboxEvents(UserEventType operation, List<UserEntity> users) {
+        Timestamp createdAt = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_OUTBOX_EVENT, users, users.size(), (ps, user) -> {
+            ps.setString(1, operation.name());
+            ps.setLong(2, user.getId());
+            ps.setString(3, user.getEmail());
+            ps.setTimestamp(4, createdAt);
+        });
+    }
+
+    /**
+     * Takes the outbox relay lock until the current transaction ends, or returns {@code false} at once
+     * if another instance holds it.
+     */
+    public boolean tryLockOutboxRelay() {
+        return !jdbcTemplate.queryForList(TRY_LOCK_OUTBOX_RELAY, Integer.class).isEmpty();
+    }
+
+    private static void set(StringBuilder sql, List<Object> args, String column, Object value) {
+        if (value != null) {
+            sql.append(args.isEmpty() ? "" : ", ").append(column).append(" = ?");
+            args.add(value);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package org.example.repository;
+
+import org.example.model.UserOutboxEntity;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface UserOutboxRepository extends JpaRepository<UserOutboxEntity, Long> {
+    List<UserOutboxEntity> findByOrderByIdAsc(Limit limit);
+
+    @Query("select min(o.createdAt) from UserOutboxEntity o")
+    Optional<LocalDateTime> findOldestCreatedAt();
+}
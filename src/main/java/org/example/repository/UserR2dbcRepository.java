@@ -0,0 +1,186 @@
+package org.example.repository;
+
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.example.model.UserEntity;
+import org.example.model.UserOutboxEntity;
+import org.example.model.UserPageCursor;
+import org.example.model.dto.UserEventType;
+import org.example.model.dto.UserFilter;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Repository
+@Profile("reactive")
+@RequiredArgsConstructor
+public class UserR2dbcRepository {
+    private static final String USER_COLUMNS = "id, name, email, age, created_at, version";
+    private static final String INSERT_USER =
+            "INSERT INTO users (name, email, age, created_at, version) VALUES (:name, :email, :age, :createdAt, 0)";
+    private static final String UPDATE_USER =
+            "UPDATE users SET name = :name, email = :email, age = :age, version = version + 1 WHERE id = :id AND version = :version";
+    private static final String INSERT_OUTBOX_EVENT =
+            "INSERT INTO user_outbox (operation, user_id, email, created_at) VALUES (:operation, :userId, :email, :createdAt)";
+    private static final int EXPORT_FETCH_SIZE = 1000;
+
+    private final DatabaseClient databaseClient;
+
+    public Mono<UserEntity> findById(Long id) {
+        return databaseClient.sql("SELECT " + USER_COLUMNS + " FROM users WHERE id = :id")
+                .bind("id", id)
+                .map(UserR2dbcRepository::toUserEntity)
+                .one();
+    }
+
+    public Mono<Long> findIdByEmail(String email) {
+        return databaseClient.sql("SELECT id FROM users WHERE email = :email")
+                .bind("email", email)
+                .map(row -> row.get("id", Long.class))
+                .one();
+    }
+
+    public Flux<UserEntity> search(UserFilter filter, UserPageCursor after, int limit) {
+        StringBuilder sql = new StringBuilder("SELECT " + USER_COLUMNS + " FROM users WHERE 1 = 1");
+        Map<String, Object> params = new HashMap<>();
+        if (filter.getNamePrefix() != null) {
+            sql.append(" AND name LIKE :namePrefix ESCAPE '\\'");
+            params.put("namePrefix", escapeLike(filter.getNamePrefix()) + "%");
+        }
+        if (filter.getEmailDomain() != null) {
+            sql.append(" AND email LIKE :emailDomain ESCAPE '\\'");
+            params.put("emailDomain", "%@" + escapeLike(filter.getEmailDomain()));
+        }
+        if (filter.getMinAge() != null) {
+            sql.append(" AND age >= :minAge");
+            params.put("minAge", filter.getMinAge());
+        }
+        if (filter.getMaxAge() != null) {
+            sql.append(" AND age <= :maxAge");
+            params.put("maxAge", filter.getMaxAge());
+        }
+        if (filter.getCreatedFrom() != null) {
+            sql.append(" AND created_at >= :createdFrom");
+            params.put("createdFrom", filter.getCreatedFrom());
+        }
+        if (filter.getCreatedTo() != null) {
+            sql.append(" AND created_at < :createdTo");
+            params.put("createdTo", filter.getCreatedTo());
+        }
+        if (after != null) {
+            sql.append(" AND (created_at, id) > (:afterCreatedAt, :afterId)");
+            params.put("afterCreatedAt", after.createdAt());
+            params.put("afterId", after.id());
+        }
+        sql.append(" ORDER BY created_at, id LIMIT :limit");
+        params.put("limit", limit);
+        return databaseClient.sql(sql.toString())
+                .bindValues(params)
+                .map(UserR2dbcRepository::toUserEntity)
+                .all();
+    }
+
+    public Flux<UserEntity> streamAll() {
+        return databaseClient.sql("SELECT " + USER_COLUMNS + " FROM users ORDER BY id")
+                .filter(statement -> statement.fetchSize(EXPORT_FETCH_SIZE))
+                .map(UserR2dbcRepository::toUserEntity)
+                .all();
+    }
+
+    public Mono<UserEntity> insert(UserEntity user) {
+        return databaseClient.sql(INSERT_USER)
+                .filter(statement -> statement.returnGeneratedValues("id"))
+                .bind("name", user.getName())
+                .bind("email", user.getEmail())
+                .bind("age", user.getAge())
+                .bind("createdAt", user.getCreatedAt())
+                .map(row -> row.get("id", Long.class))
+                .one()
+                .map(id -> {
+                    user.setId(id);
+                    user.setVersion(0L);
+                    return user;
+                });
+    }
+
+    /**
+     * Writes the user back only if it still has the version it was read with; empty if the row was changed
+     * or deleted in between.
+     */
+    public Mono<UserEntity> update(UserEntity user) {
+        return databaseClient.sql(UPDATE_USER)
+                .bind("name", user.getName())
+                .bind("email", user.getEmail())
+                .bind("age", user.getAge())
+                .bind("id", user.getId())
+                .bind("version", user.getVersion())
+                .fetch()
+                .rowsUpdated()
+                .filter(updated -> updated == 1)
+                .map(updated -> {
+                    user.setVersion(user.getVersion() + 1);
+                    return user;
+                });
+    }
+
+    public Mono<Long> deleteById(Long id) {
+        return databaseClient.sql("DELETE FROM users WHERE id = :id")
+                .bind("id", id)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Mono<Void> insertOutboxEvent(UserEventType operation, UserEntity user) {
+        return databaseClient.sql(INSERT_OUTBOX_EVENT)
+                .bind("operation", operation.name())
+                .bind("userId", user.getId())
+                .bind("email", user.getEmail())
+                .bind("createdAt", LocalDateTime.now())
+                .then();
+    }
+
+    public Mono<Boolean> tryLockOutboxRelay() {
+        return databaseClient.sql("SELECT id FROM user_outbox_relay_lock WHERE id = 1 FOR UPDATE SKIP LOCKED")
+                .map(row -> Boolean.TRUE)
+                .one()
+                .defaultIfEmpty(Boolean.FALSE);
+    }
+
+    public Flux<UserOutboxEntity> findOutboxEvents(int limit) {
+        return databaseClient.sql("SELECT id, operation, user_id, email, created_at FROM user_outbox ORDER BY id LIMIT :limit")
+                .bind("limit", limit)
+                .map(row -> new UserOutboxEntity(row.get("id", Long.class),
+                        row.get("operation", String.class),
+                        row.get("user_id", Long.class),
+                        row.get("email", String.class),
+                        row.get("created_at", LocalDateTime.class)))
+                .all();
+    }
+
+    public Mono<Long> deleteOutboxEvents(List<Long> ids) {
+        return databaseClient.sql("DELETE FROM user_outbox WHERE id IN (:ids)")
+                .bind("ids", ids)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    private static UserEntity toUserEntity(Readable row) {
+        return new UserEntity(row.get("id", Long.class),
+                row.get("name", String.class),
+                row.get("email", String.class),
+                row.get("age", Integer.class),
+                row.get("created_at", LocalDateTime.class),
+                row.get("version", Long.class));
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -1,10 +1,30 @@
 package org.example.repository;
 
+import jakarta.persistence.QueryHint;
 import org.example.model.UserEntity;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.util.Collection;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
-public interface UserRepository extends JpaRepository<UserEntity, Long> {
+public interface UserRepository extends JpaRepository<UserEntity, Long>, UserSearchRepository {
     Optional<UserEntity> findFirstByEmail(String email);
+
+    @Query("select u.version from UserEntity u where u.id = :id")
+    Optional<Long> findVersionById(Long id);
+
+    @Query("select u.email from UserEntity u where u.email in :emails")
+    Set<String> findExistingEmails(Collection<String> emails);
+
+    @Query("select u from UserEntity u order by u.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<UserEntity> streamAll();
 }
@@ -0,0 +1,11 @@
+package org.example.repository;
+
+import org.example.model.UserEntity;
+import org.example.model.UserPageCursor;
+import org.example.model.dto.UserFilter;
+
+import java.util.List;
+
+public interface UserSearchRepository {
+    List<UserEntity> search(UserFilter filter, UserPageCursor after, int limit);
+}
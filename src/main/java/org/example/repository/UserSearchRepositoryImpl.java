@@ -0,0 +1,54 @@
+package org.example.repository;
+
+import com.querydsl.core.BooleanBuilder;
+import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import org.example.model.QUserEntity;
+import org.example.model.UserEntity;
+import org.example.model.UserPageCursor;
+import org.example.model.dto.UserFilter;
+
+import java.util.List;
+
+public class UserSearchRepositoryImpl implements UserSearchRepository {
+    private static final QUserEntity USER = QUserEntity.userEntity;
+
+    private final JPAQueryFactory queryFactory;
+
+    public UserSearchRepositoryImpl(EntityManager entityManager) {
+        this.queryFactory = new JPAQueryFactory(entityManager);
+    }
+
+    @Override
+    public List<UserEntity> search(UserFilter filter, UserPageCursor after, int limit) {
+        BooleanBuilder where = new BooleanBuilder();
+        if (filter.getNamePrefix() != null) {
+            where.and(USER.name.startsWith(filter.getNamePrefix()));
+        }
+        if (filter.getEmailDomain() != null) {
+            where.and(USER.email.endsWith("@" + filter.getEmailDomain()));
+        }
+        if (filter.getMinAge() != null) {
+            where.and(USER.age.goe(filter.getMinAge()));
+        }
+        if (filter.getMaxAge() != null) {
+            where.and(USER.age.loe(filter.getMaxAge()));
+        }
+        if (filter.getCreatedFrom() != null) {
+            where.and(USER.createdAt.goe(filter.getCreatedFrom()));
+        }
+        if (filter.getCreatedTo() != null) {
+            where.and(USER.createdAt.lt(filter.getCreatedTo()));
+        }
+        if (after != null) {
+            where.and(Expressions.booleanTemplate("({0}, {1}) > ({2}, {3})",
+                    USER.createdAt, USER.id, after.createdAt(), after.id()));
+        }
+        return queryFactory.selectFrom(USER)
+                .where(where)
+                .orderBy(USER.createdAt.asc(), USER.id.asc())
+                .limit(limit)
+                .fetch();
+    }
+}
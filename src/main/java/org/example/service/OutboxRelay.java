@@ -0,0 +1,133 @@
+package org.example.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.example.model.UserOutboxEntity;
+import org.example.model.dto.UserEvent;
+import org.example.model.dto.UserEventType;
+import org.example.repository.UserJdbcRepository;
+import org.example.repository.UserOutboxRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Drains {@code user_outbox} in id order and publishes the events to Kafka, deleting a batch only
+ * after every send in it was acknowledged (at-least-once delivery). Every instance runs the relay, but a
+ * batch is only relayed while holding the {@code user_outbox_relay_lock} row, so one instance relays at a
+ * time and events keep their order; the others skip the round instead of waiting for the lock.
+ */
+@Slf4j
+@Component
+@Profile("!reactive")
+@ConditionalOnProperty(name = "app.outbox.relay.enabled", matchIfMissing = true)
+public class OutboxRelay {
+    private final UserOutboxRepository outboxRepository;
+    private final UserJdbcRepository userJdbcRepository;
+    private final ProducerService producerService;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Duration sendTimeout;
+    private final Timer batchTimer;
+    private final Counter sentCounter;
+    private final Counter failedBatchCounter;
+    private final DistributionSummary batchSizeSummary;
+
+    public OutboxRelay(UserOutboxRepository outboxRepository,
+                       UserJdbcRepository userJdbcRepository,
+                       ProducerService producerService,
+                       TransactionTemplate transactionTemplate,
+                       @Value("${app.outbox.batch-size:500}") int batchSize,
+                       @Value("${app.outbox.send-timeout:PT30S}") Duration sendTimeout,
+                       MeterRegistry meterRegistry) {
+        this.outboxRepository = outboxRepository;
+        this.userJdbcRepository = userJdbcRepository;
+        this.producerService = producerService;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.sendTimeout = sendTimeout;
+        this.batchTimer = meterRegistry.timer("user.outbox.relay.batch");
+        this.sentCounter = meterRegistry.counter("user.outbox.relay.sent");
+        this.failedBatchCounter = meterRegistry.counter("user.outbox.relay.failed.batches");
+        this.batchSizeSummary = DistributionSummary.builder("user.outbox.relay.batch.size")
+                .publishPercentileHistogram()
+                .maximumExpectedValue((double) batchSize)
+                .register(meterRegistry);
+        Gauge.builder("user.outbox.pending", outboxRepository, UserOutboxRepository::count)
+                .register(meterRegistry);
+        Gauge.builder("user.outbox.lag.seconds", this, OutboxRelay::lagSeconds)
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval:200}")
+    public void relay() {
+        int sent;
+        do {
+            sent = relayBatch();
+        } while (sent == batchSize);
+    }
+
+    int relayBatch() {
+        Integer sent = transactionTemplate.execute(status ->
+                userJdbcRepository.tryLockOutboxRelay() ? relayLockedBatch() : 0);
+        return sent == null ? 0 : sent;
+    }
+
+    private int relayLockedBatch() {
+        List<UserOutboxEntity> batch = outboxRepository.findByOrderByIdAsc(Limit.of(batchSize));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        batchSizeSummary.record(batch.size());
+        Timer.Sample sample = Timer.start();
+        try {
+            CompletableFuture.allOf(batch.stream()
+                            .map(event -> producerService.sendUserEvent(toUserEvent(event)))
+                            .toArray(CompletableFuture[]::new))
+                    .get(sendTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 0;
+        } catch (ExecutionException | TimeoutException e) {
+            failedBatchCounter.increment();
+            log.warn("Failed to relay {} outbox events starting at id {}, will retry", batch.size(),
+                    batch.get(0).getId(), e);
+            return 0;
+        } finally {
+            sample.stop(batchTimer);
+        }
+        outboxRepository.deleteAllByIdInBatch(batch.stream().map(UserOutboxEntity::getId).toList());
+        sentCounter.increment(batch.size());
+        return batch.size();
+    }
+
+    static UserEvent toUserEvent(UserOutboxEntity event) {
+        return new UserEvent(UserEventType.valueOf(event.getOperation()),
+                event.getUserId(),
+                event.getEmail(),
+                event.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+    }
+
+    private double lagSeconds() {
+        return outboxRepository.findOldestCreatedAt()
+                .map(oldest -> Duration.between(oldest, LocalDateTime.now()).toMillis() / 1000.0)
+                .orElse(0.0);
+    }
+}
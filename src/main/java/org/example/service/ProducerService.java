@@ -1,17 +1,53 @@
 package org.example.service;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
 import org.example.model.dto.UserEvent;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
 @Service
-public class ProducerService {@Autowired
-private KafkaTemplate<String, String> kafkaTemplate;
-    private final String topic = "user-events";
+public class ProducerService {
+    public static final String TOPIC = "user-events";
+
+    private final KafkaTemplate<String, UserEvent> kafkaTemplate;
+    private final Timer successTimer;
+    private final Timer failureTimer;
+    private final Counter failureCounter;
+
+    public ProducerService(KafkaTemplate<String, UserEvent> kafkaTemplate, MeterRegistry meterRegistry) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.successTimer = Timer.builder("user.events.send")
+                .tag("result", "success")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.failureTimer = Timer.builder("user.events.send")
+                .tag("result", "failure")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.failureCounter = meterRegistry.counter("user.events.send.failures");
+    }
 
-    public void sendUserEvent(String operation, String email) {
-        UserEvent event = new UserEvent(operation, email);
-        kafkaTemplate.send(topic, event.getEmail(), event.toString());
-        System.out.println("Sent message to Kafka: " + event);
+    public CompletableFuture<SendResult<String, UserEvent>> sendUserEvent(UserEvent event) {
+        long started = System.nanoTime();
+        return kafkaTemplate.send(TOPIC, String.valueOf(event.getUserId()), event)
+                .whenComplete((result, e) -> {
+                    long elapsed = System.nanoTime() - started;
+                    if (e == null) {
+                        successTimer.record(elapsed, TimeUnit.NANOSECONDS);
+                        log.debug("Sent {} to {}", event, result.getRecordMetadata());
+                    } else {
+                        failureTimer.record(elapsed, TimeUnit.NANOSECONDS);
+                        failureCounter.increment();
+                        log.warn("Failed to send {} to Kafka", event, e);
+                    }
+                });
     }
 }
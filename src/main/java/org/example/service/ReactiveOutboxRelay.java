@@ -0,0 +1,91 @@
+package org.example.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.example.model.UserOutboxEntity;
+import org.example.model.dto.UserEvent;
+import org.example.repository.UserR2dbcRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.kafka.core.reactive.ReactiveKafkaProducerTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.ReactiveTransactionManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.kafka.sender.SenderRecord;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Reactive variant of {@link OutboxRelay}: reads {@code user_outbox} through R2DBC and streams the batch
+ * into {@link ReactiveKafkaProducerTemplate}, deleting the rows once every record was acknowledged. Takes
+ * the same relay lock, so servlet and reactive instances can share a database.
+ */
+@Slf4j
+@Component
+@Profile("reactive")
+@ConditionalOnProperty(name = "app.outbox.relay.enabled", matchIfMissing = true)
+public class ReactiveOutboxRelay {
+    private final UserR2dbcRepository userRepository;
+    private final ReactiveKafkaProducerTemplate<String, UserEvent> kafkaTemplate;
+    private final TransactionalOperator transactionalOperator;
+    private final int batchSize;
+    private final Duration sendTimeout;
+    private final Counter sentCounter;
+    private final Counter failedBatchCounter;
+
+    public ReactiveOutboxRelay(UserR2dbcRepository userRepository,
+                               ReactiveKafkaProducerTemplate<String, UserEvent> kafkaTemplate,
+                               ReactiveTransactionManager transactionManager,
+                               @Value("${app.outbox.batch-size:500}") int batchSize,
+                               @Value("${app.outbox.send-timeout:PT30S}") Duration sendTimeout,
+                               MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.kafkaTemplate = kafkaTemplate;
+        this.transactionalOperator = TransactionalOperator.create(transactionManager);
+        this.batchSize = batchSize;
+        this.sendTimeout = sendTimeout;
+        this.sentCounter = meterRegistry.counter("user.outbox.relay.sent");
+        this.failedBatchCounter = meterRegistry.counter("user.outbox.relay.failed.batches");
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval:200}")
+    public void relay() {
+        relayBatch()
+                .repeat()
+                .takeUntil(sent -> sent < batchSize)
+                .blockLast();
+    }
+
+    Mono<Integer> relayBatch() {
+        return userRepository.tryLockOutboxRelay()
+                .flatMap(locked -> !locked ? Mono.just(0) : userRepository.findOutboxEvents(batchSize)
+                        .collectList()
+                        .flatMap(batch -> batch.isEmpty() ? Mono.just(0) : send(batch)))
+                .as(transactionalOperator::transactional);
+    }
+
+    private Mono<Integer> send(List<UserOutboxEntity> batch) {
+        Flux<SenderRecord<String, UserEvent, Long>> records = Flux.fromIterable(batch)
+                .map(event -> SenderRecord.create(ProducerService.TOPIC, null, null, String.valueOf(event.getUserId()),
+                        OutboxRelay.toUserEvent(event), event.getId()));
+        return kafkaTemplate.send(records)
+                .then(userRepository.deleteOutboxEvents(batch.stream().map(UserOutboxEntity::getId).toList()))
+                .timeout(sendTimeout)
+                .map(deleted -> {
+                    sentCounter.increment(batch.size());
+                    return batch.size();
+                })
+                .onErrorResume(e -> {
+                    failedBatchCounter.increment();
+                    log.warn("Failed to relay {} outbox events starting at id {}, will retry", batch.size(),
+                            batch.get(0).getId(), e);
+                    return Mono.just(0);
+                });
+    }
+}
@@ -0,0 +1,22 @@
+package org.example.service;
+
+import org.example.model.dto.NewUserDto;
+import org.example.model.dto.UserDto;
+import org.example.model.dto.UserFilter;
+import org.example.model.dto.UserPageDto;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveUserService {
+    Mono<UserDto> create(NewUserDto newUserDto);
+
+    Mono<UserDto> getById(Long userId);
+
+    Mono<UserPageDto> search(UserFilter filter, String cursor, int size);
+
+    Flux<UserDto> exportAll();
+
+    Mono<UserDto> update(Long userId, NewUserDto newUserDto);
+
+    Mono<Void> delete(Long userId);
+}
@@ -0,0 +1,130 @@
+package org.example.service;
+
+import org.example.exception.ConcurrentUpdateException;
+import org.example.exception.EmailConflictException;
+import org.example.exception.EntityNotFoundException;
+import org.example.mapper.UserMapper;
+import org.example.model.UserEntity;
+import org.example.model.UserPageCursor;
+import org.example.model.dto.NewUserDto;
+import org.example.model.dto.UserDto;
+import org.example.model.dto.UserEventType;
+import org.example.model.dto.UserFilter;
+import org.example.model.dto.UserPageDto;
+import org.example.repository.UserR2dbcRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.ReactiveTransactionManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+@Service
+@Profile("reactive")
+public class ReactiveUserServiceImpl implements ReactiveUserService {
+    private final UserR2dbcRepository userRepository;
+    private final UserMapper mapper;
+    private final TransactionalOperator transactionalOperator;
+
+    public ReactiveUserServiceImpl(UserR2dbcRepository userRepository,
+                                   UserMapper mapper,
+                                   ReactiveTransactionManager transactionManager) {
+        this.userRepository = userRepository;
+        this.mapper = mapper;
+        this.transactionalOperator = TransactionalOperator.create(transactionManager);
+    }
+
+    @Override
+    public Mono<UserDto> create(NewUserDto newUserDto) {
+        UserEntity entity = mapper.toUserEntity(newUserDto);
+        entity.setCreatedAt(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
+        return emailExistsCheck(null, newUserDto.getEmail())
+                .then(userRepository.insert(entity))
+                .flatMap(saved -> userRepository.insertOutboxEvent(UserEventType.CREATE, saved).thenReturn(saved))
+                .as(transactionalOperator::transactional)
+                .onErrorMap(DataIntegrityViolationException.class, e -> EmailConflictException.EMAIL_EXISTS)
+                .map(mapper::toUserDto);
+    }
+
+    @Override
+    public Mono<UserDto> getById(Long userId) {
+        return userExistsCheck(userId).map(mapper::toUserDto);
+    }
+
+    @Override
+    public Mono<UserPageDto> search(UserFilter filter, String cursor, int size) {
+        UserPageCursor after = cursor == null ? null : UserPageCursor.decode(cursor);
+        return userRepository.search(filter, after, size + 1)
+                .collectList()
+                .map(entities -> {
+                    boolean hasNext = entities.size() > size;
+                    List<UserEntity> page = hasNext ? entities.subList(0, size) : entities;
+                    return UserPageDto.builder()
+                            .users(page.stream().map(mapper::toUserDto).toList())
+                            .nextCursor(hasNext ? UserPageCursor.of(page.get(size - 1)).encode() : null)
+                            .build();
+                });
+    }
+
+    @Override
+    public Flux<UserDto> exportAll() {
+        return userRepository.streamAll().map(mapper::toUserDto);
+    }
+
+    @Override
+    public Mono<UserDto> update(Long userId, NewUserDto newUserDto) {
+        return userExistsCheck(userId)
+                .flatMap(entity -> {
+                    if (newUserDto.getName() != null) {
+                        entity.setName(newUserDto.getName());
+                    }
+                    if (newUserDto.getAge() != null) {
+                        entity.setAge(newUserDto.getAge());
+                    }
+                    if (newUserDto.getEmail() == null) {
+                        return userRepository.update(entity);
+                    }
+                    entity.setEmail(newUserDto.getEmail());
+                    return emailExistsCheck(userId, newUserDto.getEmail()).then(userRepository.update(entity));
+                })
+                .switchIfEmpty(Mono.defer(() -> notFoundOrModified(userId)))
+                .flatMap(updated -> userRepository.insertOutboxEvent(UserEventType.UPDATE, updated).thenReturn(updated))
+                .as(transactionalOperator::transactional)
+                .onErrorMap(DataIntegrityViolationException.class, e -> EmailConflictException.EMAIL_EXISTS)
+                .map(mapper::toUserDto);
+    }
+
+    @Override
+    public Mono<Void> delete(Long userId) {
+        return userExistsCheck(userId)
+                .flatMap(entity -> userRepository.deleteById(userId)
+                        .then(userRepository.insertOutboxEvent(UserEventType.DELETE, entity)))
+                .as(transactionalOperator::transactional);
+    }
+
+    private Mono<UserEntity> userExistsCheck(Long userId) {
+        return userRepository.findById(userId)
+                .switchIfEmpty(Mono.error(EntityNotFoundException.USER_NOT_FOUND));
+    }
+
+    /**
+     * The versioned write touched no row: the user was deleted or changed after it was read.
+     */
+    private Mono<UserEntity> notFoundOrModified(Long userId) {
+        return userRepository.findById(userId)
+                .flatMap(current -> Mono.<UserEntity>error(ConcurrentUpdateException.USER_MODIFIED))
+                .switchIfEmpty(Mono.error(EntityNotFoundException.USER_NOT_FOUND));
+    }
+
+    private Mono<Void> emailExistsCheck(Long id, String email) {
+        return userRepository.findIdByEmail(email)
+                .filter(existingId -> !existingId.equals(id))
+                .flatMap(existingId -> Mono.<Void>error(EmailConflictException.EMAIL_EXISTS))
+                .then();
+    }
+}
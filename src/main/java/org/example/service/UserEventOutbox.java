@@ -0,0 +1,41 @@
+package org.example.service;
+
+import lombok.RequiredArgsConstructor;
+import org.example.model.UserEntity;
+import org.example.model.UserOutboxEntity;
+import org.example.model.dto.UserEventType;
+import org.example.repository.UserJdbcRepository;
+import org.example.repository.UserOutboxRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Records user events in the {@code user_outbox} table as part of the caller's transaction;
+ * {@link OutboxRelay} publishes them to Kafka after commit.
+ */
+@Service
+@Profile("!reactive")
+@RequiredArgsConstructor
+@Transactional(propagation = Propagation.MANDATORY)
+public class UserEventOutbox {
+    private final UserOutboxRepository outboxRepository;
+    private final UserJdbcRepository userJdbcRepository;
+
+    public void append(UserEventType operation, UserEntity user) {
+        outboxRepository.save(UserOutboxEntity.builder()
+                .operation(operation.name())
+                .userId(user.getId())
+                .email(user.getEmail())
+                .createdAt(LocalDateTime.now())
+                .build());
+    }
+
+    public void appendAll(UserEventType operation, List<UserEntity> users) {
+        userJdbcRepository.insertOutboxEvents(operation, users);
+    }
+}
@@ -0,0 +1,48 @@
+package org.example.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.mapper.UserMapper;
+import org.example.model.UserEntity;
+import org.example.repository.UserRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Slf4j
+@Service
+@Profile("!reactive")
+@RequiredArgsConstructor
+public class UserExportService {
+    private final UserRepository userRepository;
+    private final UserMapper mapper;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+
+    @Transactional(readOnly = true)
+    public long exportAll(OutputStream out) throws IOException {
+        long count = 0;
+        try (Stream<UserEntity> users = userRepository.streamAll();
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            Iterator<UserEntity> iterator = users.iterator();
+            while (iterator.hasNext()) {
+                UserEntity entity = iterator.next();
+                generator.writeObject(mapper.toUserDto(entity));
+                generator.writeRaw('\n');
+                entityManager.detach(entity);
+                count++;
+            }
+        }
+        log.info("Exported {} users", count);
+        return count;
+    }
+}
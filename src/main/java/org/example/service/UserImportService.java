@@ -0,0 +1,199 @@
+package org.example.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.model.ImportFormat;
+import org.example.model.dto.BatchItemResultDto;
+import org.example.model.dto.ImportReportDto;
+import org.example.model.dto.NewUserDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Service
+@Profile("!reactive")
+@RequiredArgsConstructor
+public class UserImportService {
+    private static final String CSV_HEADER = "name,email,age";
+
+    private final UserService userService;
+    private final ObjectMapper objectMapper;
+    @Value("${app.import.chunk-size:5000}")
+    private int chunkSize;
+    @Value("${app.import.rejects-dir:${java.io.tmpdir}}")
+    private String rejectsDir;
+
+    public ImportReportDto importUsers(InputStream in, ImportFormat format) throws IOException {
+        Path rejectsFile = Files.createTempFile(Path.of(rejectsDir), "users-import-", "-rejects.tsv");
+        return importUsers(in, format, rejectsFile);
+    }
+
+    public ImportReportDto importUsers(InputStream in, ImportFormat format, Path rejectsFile) throws IOException {
+        ImportState state = new ImportState(System.nanoTime(), chunkSize);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 64 * 1024);
+             BufferedWriter rejects = Files.newBufferedWriter(rejectsFile, StandardCharsets.UTF_8)) {
+            String line;
+            long lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank() || lineNumber == 1 && format == ImportFormat.CSV && isCsvHeader(line)) {
+                    continue;
+                }
+                state.read++;
+                try {
+                    state.add(parse(line, format), lineNumber, line);
+                } catch (IllegalArgumentException | JsonProcessingException e) {
+                    state.invalid++;
+                    reject(rejects, lineNumber, e.getMessage(), line);
+                    continue;
+                }
+                if (state.chunk.size() == chunkSize) {
+                    flush(state, rejects);
+                }
+            }
+            flush(state, rejects);
+        }
+        long elapsedNanos = System.nanoTime() - state.startedNanos;
+        ImportReportDto report = ImportReportDto.builder()
+                .read(state.read)
+                .created(state.created)
+                .conflicts(state.conflicts)
+                .invalid(state.invalid)
+                .elapsedMillis(TimeUnit.NANOSECONDS.toMillis(elapsedNanos))
+                .recordsPerSecond(recordsPerSecond(state.read, elapsedNanos))
+                .rejectsFile(rejectsFile.toAbsolutePath().toString())
+                .build();
+        log.info("Import finished: {}", report);
+        return report;
+    }
+
+    private void flush(ImportState state, BufferedWriter rejects) throws IOException {
+        if (state.chunk.isEmpty()) {
+            return;
+        }
+        List<BatchItemResultDto> results = userService.createAll(state.chunk);
+        for (BatchItemResultDto result : results) {
+            switch (result.getStatus()) {
+                case CREATED -> state.created++;
+                case CONFLICT -> state.conflicts++;
+                case INVALID -> state.invalid++;
+            }
+            if (result.getErrors() != null) {
+                int i = result.getIndex();
+                reject(rejects, state.lineNumbers.get(i), String.join("; ", result.getErrors()), state.lines.get(i));
+            }
+        }
+        state.clear();
+        log.info("Imported {} of {} records read ({} rejected, {} records/s)", state.created, state.read,
+                state.conflicts + state.invalid,
+                Math.round(recordsPerSecond(state.read, System.nanoTime() - state.startedNanos)));
+    }
+
+    private NewUserDto parse(String line, ImportFormat format) throws JsonProcessingException {
+        if (format == ImportFormat.NDJSON) {
+            NewUserDto newUserDto = objectMapper.readValue(line, NewUserDto.class);
+            if (newUserDto == null) {
+                throw new IllegalArgumentException("Expected a JSON object");
+            }
+            return newUserDto;
+        }
+        List<String> fields = parseCsvLine(line);
+        if (fields.size() != 3) {
+            throw new IllegalArgumentException("Expected 3 fields (" + CSV_HEADER + "), got " + fields.size());
+        }
+        try {
+            return new NewUserDto(fields.get(0), fields.get(1), Integer.valueOf(fields.get(2).trim()));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("age: must be a number");
+        }
+    }
+
+    private static List<String> parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>(3);
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static boolean isCsvHeader(String line) {
+        return line.replace(" ", "").equalsIgnoreCase(CSV_HEADER);
+    }
+
+    private static void reject(BufferedWriter rejects, long lineNumber, String reason, String line) throws IOException {
+        rejects.write(lineNumber + "\t" + reason.replace('\t', ' ').replace('\n', ' ') + "\t" + line);
+        rejects.newLine();
+    }
+
+    private static double recordsPerSecond(long records, long elapsedNanos) {
+        return elapsedNanos == 0 ? 0 : records * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    private static class ImportState {
+        private final long startedNanos;
+        private final List<NewUserDto> chunk;
+        private final List<Long> lineNumbers;
+        private final List<String> lines;
+        private long read;
+        private long created;
+        private long conflicts;
+        private long invalid;
+
+        private ImportState(long startedNanos, int chunkSize) {
+            this.startedNanos = startedNanos;
+            this.chunk = new ArrayList<>(chunkSize);
+            this.lineNumbers = new ArrayList<>(chunkSize);
+            this.lines = new ArrayList<>(chunkSize);
+        }
+
+        private void add(NewUserDto newUserDto, long lineNumber, String line) {
+            chunk.add(newUserDto);
+            lineNumbers.add(lineNumber);
+            lines.add(line);
+        }
+
+        private void clear() {
+            chunk.clear();
+            lineNumbers.clear();
+            lines.clear();
+        }
+    }
+}
@@ -1,14 +1,28 @@
 package org.example.service;
 
+import org.example.model.dto.BatchItemResultDto;
 import org.example.model.dto.NewUserDto;
 import org.example.model.dto.UserDto;
+import org.example.model.dto.UserFilter;
+import org.example.model.dto.UserPageDto;
+
+import java.util.Collection;
+import java.util.List;
 
 public interface UserService {
     UserDto create(NewUserDto newUserDto);
 
+    List<BatchItemResultDto> createAll(List<NewUserDto> newUserDtos);
+
     UserDto getById(Long userId);
 
-    UserDto update(Long userId, NewUserDto newUserDto);
+    List<UserDto> getAllById(Collection<Long> userIds);
+
+    long getVersion(Long userId);
+
+    UserPageDto search(UserFilter filter, String cursor, int size);
+
+    UserDto update(Long userId, NewUserDto newUserDto, Long expectedVersion);
 
-    void delete(Long userId);
+    void delete(Long userId, Long expectedVersion);
 }
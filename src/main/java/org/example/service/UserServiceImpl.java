@@ -1,76 +1,249 @@
 package org.example.service;
 
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import org.example.cache.SingleFlight;
+import org.example.cache.UserResponseCache;
 import org.example.exception.EmailConflictException;
 import org.example.exception.EntityNotFoundException;
+import org.example.exception.PreconditionFailedException;
 import org.example.mapper.UserMapper;
 import org.example.model.UserEntity;
+import org.example.model.UserPageCursor;
+import org.example.model.dto.BatchItemResultDto;
 import org.example.model.dto.NewUserDto;
 import org.example.model.dto.UserDto;
+import org.example.model.dto.UserEventType;
+import org.example.model.dto.UserFilter;
+import org.example.model.dto.UserPageDto;
+import org.example.repository.UserJdbcRepository;
 import org.example.repository.UserRepository;
-import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
-import java.util.Objects;
-import java.util.Optional;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Service
+@Profile("!reactive")
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
-    @Autowired
-    private ProducerService producerService;
+    private static final int MAX_BATCH_INSERT_ATTEMPTS = 3;
+
+    private final UserEventOutbox eventOutbox;
     private final UserRepository userRepository;
     private final UserMapper mapper;
+    private final UserResponseCache responseCache;
+    private final SingleFlight<Long, UserDto> userLoads;
+    private final UserJdbcRepository userJdbcRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    @Value("${app.batch.insert-chunk-size:500}")
+    private int insertChunkSize;
 
     @Override
+    @Transactional
     public UserDto create(NewUserDto newUserDto) {
-        emailExistsCheck(null, newUserDto.getEmail());
         UserEntity entity = mapper.toUserEntity(newUserDto);
         entity.setCreatedAt(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
-        userRepository.save(entity);
-        producerService.sendUserEvent("CREATE", entity.getEmail());
+        save(entity);
+        eventOutbox.append(UserEventType.CREATE, entity);
         return mapper.toUserDto(entity);
     }
 
+    @Override
+    public List<BatchItemResultDto> createAll(List<NewUserDto> newUserDtos) {
+        BatchItemResultDto[] results = new BatchItemResultDto[newUserDtos.size()];
+        Map<String, Integer> pending = new LinkedHashMap<>();
+        for (int i = 0; i < newUserDtos.size(); i++) {
+            NewUserDto newUserDto = newUserDtos.get(i);
+            Set<ConstraintViolation<NewUserDto>> violations = validator.validate(newUserDto);
+            if (!violations.isEmpty()) {
+                results[i] = BatchItemResultDto.invalid(i, violations.stream()
+                        .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                        .sorted()
+                        .toList());
+            } else if (pending.putIfAbsent(newUserDto.getEmail(), i) != null) {
+                results[i] = BatchItemResultDto.conflict(i);
+            }
+        }
+        List<Integer> indexes = new ArrayList<>(pending.values());
+        for (int from = 0; from < indexes.size(); from += insertChunkSize) {
+            insertChunk(newUserDtos, indexes.subList(from, Math.min(from + insertChunkSize, indexes.size())), results);
+        }
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Fills the response cache, so it reads the primary: a lagging replica could re-cache the row a write
+     * just replaced for the whole cache TTL. Only the single-flight leader opens a transaction; waiters
+     * do not hold a connection.
+     */
     @Override
     public UserDto getById(Long userId) {
-        return mapper.toUserDto(userExistsCheck(userId));
+        return userLoads.execute(userId, () -> transactionTemplate.execute(status ->
+                mapper.toUserDto(userExistsCheck(userId))));
     }
 
+    /**
+     * Fills the response cache, so it reads the primary like {@link #getById}.
+     */
     @Override
-    public UserDto update(Long userId, NewUserDto newUserDto) {
-        UserEntity entity = userExistsCheck(userId);
-        if (newUserDto.getName() != null) {
-            entity.setName(newUserDto.getName());
-        }
-        if (newUserDto.getAge() != null) {
-            entity.setAge(newUserDto.getAge());
+    @Transactional
+    public List<UserDto> getAllById(Collection<Long> userIds) {
+        return userRepository.findAllById(userIds).stream()
+                .map(mapper::toUserDto)
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long getVersion(Long userId) {
+        return userRepository.findVersionById(userId).orElseThrow(() -> EntityNotFoundException.USER_NOT_FOUND);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public UserPageDto search(UserFilter filter, String cursor, int size) {
+        UserPageCursor after = cursor == null ? null : UserPageCursor.decode(cursor);
+        List<UserEntity> entities = userRepository.search(filter, after, size + 1);
+        boolean hasNext = entities.size() > size;
+        List<UserEntity> page = hasNext ? entities.subList(0, size) : entities;
+        return UserPageDto.builder()
+                .users(page.stream().map(mapper::toUserDto).toList())
+                .nextCursor(hasNext ? UserPageCursor.of(page.get(size - 1)).encode() : null)
+                .build();
+    }
+
+    @Override
+    @Transactional
+    public UserDto update(Long userId, NewUserDto newUserDto, Long expectedVersion) {
+        if (newUserDto.getName() == null && newUserDto.getEmail() == null && newUserDto.getAge() == null) {
+            UserDto current = getById(userId);
+            if (expectedVersion != null && !expectedVersion.equals(current.getVersion())) {
+                throw PreconditionFailedException.VERSION_MISMATCH;
+            }
+            return current;
         }
-        if (newUserDto.getEmail() != null) {
-            emailExistsCheck(entity.getId(), newUserDto.getEmail());
-            entity.setEmail(newUserDto.getEmail());
+        UserEntity entity;
+        try {
+            entity = userJdbcRepository.update(userId, newUserDto.getName(), newUserDto.getEmail(), newUserDto.getAge(),
+                            expectedVersion)
+                    .orElseThrow(() -> notFoundOrModified(userId, expectedVersion));
+        } catch (DataIntegrityViolationException e) {
+            throw EmailConflictException.EMAIL_EXISTS;
         }
-        return mapper.toUserDto(userRepository.save(entity));
+        eventOutbox.append(UserEventType.UPDATE, entity);
+        afterCommit(() -> evict(userId));
+        return mapper.toUserDto(entity);
     }
 
     @Override
-    public void delete(Long userId) {
-        UserEntity entity = userExistsCheck(userId);
-        userRepository.deleteById(userId);
-        producerService.sendUserEvent("DELETE", entity.getEmail());
+    @Transactional
+    public void delete(Long userId, Long expectedVersion) {
+        String email = userJdbcRepository.deleteReturningEmail(userId, expectedVersion)
+                .orElseThrow(() -> notFoundOrModified(userId, expectedVersion));
+        eventOutbox.append(UserEventType.DELETE, UserEntity.builder().id(userId).email(email).build());
+        afterCommit(() -> evict(userId));
+    }
+
+    /**
+     * Drops the cached user and any load still in flight for it: that load may have read the row before the
+     * commit, and later readers, this writer included, must not join it.
+     */
+    private void evict(Long userId) {
+        userLoads.forget(userId);
+        responseCache.invalidate(userId);
     }
 
     private UserEntity userExistsCheck(Long userId) {
-        return userRepository.findById(userId).orElseThrow(() ->
-                new EntityNotFoundException("User not found ."));
+        return userRepository.findById(userId).orElseThrow(() -> EntityNotFoundException.USER_NOT_FOUND);
+    }
+
+    /**
+     * A conditional write that touched no rows either lost to a concurrent change or targeted a missing user;
+     * only this failure path pays for the extra lookup.
+     */
+    private RuntimeException notFoundOrModified(Long userId, Long expectedVersion) {
+        if (expectedVersion != null && userRepository.findVersionById(userId).isPresent()) {
+            return PreconditionFailedException.VERSION_MISMATCH;
+        }
+        return EntityNotFoundException.USER_NOT_FOUND;
+    }
+
+    private void insertChunk(List<NewUserDto> newUserDtos, List<Integer> indexes, BatchItemResultDto[] results) {
+        for (int attempt = 1; ; attempt++) {
+            Set<String> existing = userRepository.findExistingEmails(indexes.stream()
+                    .map(i -> newUserDtos.get(i).getEmail())
+                    .toList());
+            List<Integer> fresh = new ArrayList<>(indexes.size());
+            List<UserEntity> entities = new ArrayList<>(indexes.size());
+            LocalDateTime createdAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+            for (Integer i : indexes) {
+                if (existing.contains(newUserDtos.get(i).getEmail())) {
+                    results[i] = BatchItemResultDto.conflict(i);
+                    continue;
+                }
+                UserEntity entity = mapper.toUserEntity(newUserDtos.get(i));
+                entity.setCreatedAt(createdAt);
+                fresh.add(i);
+                entities.add(entity);
+            }
+            if (entities.isEmpty()) {
+                return;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    userJdbcRepository.insertAll(entities);
+                    eventOutbox.appendAll(UserEventType.CREATE, entities);
+                });
+            } catch (DataIntegrityViolationException e) {
+                if (attempt < MAX_BATCH_INSERT_ATTEMPTS) {
+                    continue;
+                }
+                fresh.forEach(i -> results[i] = BatchItemResultDto.conflict(i));
+                return;
+            }
+            for (int j = 0; j < entities.size(); j++) {
+                UserEntity entity = entities.get(j);
+                results[fresh.get(j)] = BatchItemResultDto.created(fresh.get(j), mapper.toUserDto(entity));
+            }
+            return;
+        }
+    }
+
+    private UserEntity save(UserEntity entity) {
+        try {
+            return userRepository.saveAndFlush(entity);
+        } catch (DataIntegrityViolationException e) {
+            throw EmailConflictException.EMAIL_EXISTS;
+        }
     }
 
-    private void emailExistsCheck(Long id, String email) {
-        Optional<UserEntity> entity = userRepository.findFirstByEmail(email);
-        if (entity.isPresent() && !Objects.equals(entity.get().getId(), id)) {
-            throw new EmailConflictException("Such user email already exists .");
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
         }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
     }
-}
\ No newline at end of file
+}
@@ -6,5 +6,23 @@ CREATE TABLE IF NOT EXISTS users (
     email VARCHAR(254) NOT NULL,
     age INT NOT NULL,
     created_at TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    version BIGINT NOT NULL DEFAULT 0,
     CONSTRAINT uq_user_email UNIQUE (email)
-);
\ No newline at end of file
+);
+
+CREATE INDEX IF NOT EXISTS idx_users_created_at_id ON users (created_at, id);
+
+CREATE TABLE IF NOT EXISTS user_outbox (
+    id BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+    operation VARCHAR(16) NOT NULL,
+    user_id BIGINT NOT NULL,
+    email VARCHAR(254) NOT NULL,
+    created_at TIMESTAMP WITHOUT TIME ZONE NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS user_outbox_relay_lock (
+    id INT PRIMARY KEY
+);
+
+INSERT INTO user_outbox_relay_lock (id)
+SELECT 1 WHERE NOT EXISTS (SELECT 1 FROM user_outbox_relay_lock WHERE id = 1);
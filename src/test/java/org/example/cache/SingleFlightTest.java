@@ -0,0 +1,140 @@
+package org.example.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.exception.EntityNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SingleFlightTest {
+    private static final int CALLERS = 8;
+
+    private SimpleMeterRegistry meterRegistry;
+    private SingleFlight<Long, String> singleFlight;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        singleFlight = new SingleFlight<>("test", meterRegistry);
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    @DisplayName("Should share one in-flight load between concurrent callers of the same key")
+    void testCollapsesConcurrentCalls() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        String value = "user";
+        List<Future<String>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CALLERS; i++) {
+                results.add(executor.submit(() -> singleFlight.execute(1L, () -> {
+                    loads.incrementAndGet();
+                    await(release);
+                    return value;
+                })));
+            }
+            while (collapsed() < CALLERS - 1) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+            for (Future<String> result : results) {
+                assertSame(value, result.get(5, TimeUnit.SECONDS));
+            }
+        }
+
+        assertEquals(1, loads.get());
+        assertEquals(1, count("loaded"));
+        assertEquals(CALLERS - 1, collapsed());
+    }
+
+    @Test
+    @DisplayName("Should hand the loader's exception to every waiting caller and not remember it")
+    void testSharesFailure() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        EntityNotFoundException notFound = new EntityNotFoundException("User not found .");
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<String> leader = executor.submit(() -> singleFlight.execute(1L, () -> {
+                await(release);
+                throw notFound;
+            }));
+            Future<String> follower = executor.submit(() -> {
+                while (count("loaded") == 0) {
+                    Thread.onSpinWait();
+                }
+                return singleFlight.execute(1L, () -> "unexpected");
+            });
+            while (collapsed() == 0) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+            assertThat(assertThrows(Exception.class, () -> leader.get(5, TimeUnit.SECONDS))).hasCause(notFound);
+            assertThat(assertThrows(Exception.class, () -> follower.get(5, TimeUnit.SECONDS))).hasCause(notFound);
+        }
+
+        assertEquals("fresh", singleFlight.execute(1L, () -> "fresh"));
+    }
+
+    @Test
+    @DisplayName("Should start a fresh load after the key is forgotten while a load is in flight")
+    void testForget() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<String> stale = executor.submit(() -> singleFlight.execute(1L, () -> {
+                await(release);
+                return "before write";
+            }));
+            while (count("loaded") == 0) {
+                Thread.onSpinWait();
+            }
+
+            singleFlight.forget(1L);
+
+            assertEquals("after write", singleFlight.execute(1L, () -> "after write"));
+            release.countDown();
+            assertEquals("before write", stale.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(2, count("loaded"));
+        assertEquals(0, collapsed());
+    }
+
+    @Test
+    @DisplayName("Should load different keys independently")
+    void testDifferentKeys() {
+        assertEquals("1", singleFlight.execute(1L, () -> singleFlight.execute(2L, () -> "1")));
+
+        assertEquals(2, count("loaded"));
+        assertEquals(0, collapsed());
+    }
+
+    private long collapsed() {
+        return count("collapsed");
+    }
+
+    private long count(String result) {
+        return (long) meterRegistry.get("singleflight.calls").tags("name", "test", "result", result).counter().count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package org.example.cache;
+
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.AdminClientConfig;
+import org.example.model.dto.UserDto;
+import org.example.model.dto.UserEvent;
+import org.example.model.dto.UserEventType;
+import org.example.service.ProducerService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+@SpringBootTest(properties = {
+        "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}",
+        "app.cache.user.invalidation.enabled=true"
+})
+@EmbeddedKafka(partitions = 1, topics = ProducerService.TOPIC)
+class UserCacheInvalidationListenerTest {
+    @Autowired
+    private UserResponseCache responseCache;
+    @Autowired
+    private ProducerService producerService;
+    @Autowired
+    private KafkaListenerEndpointRegistry listenerRegistry;
+    @Autowired
+    private UserCacheAssignmentListener assignmentListener;
+    @Autowired
+    private EmbeddedKafkaBroker embeddedKafka;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        // positions are resolved and the cache cleared before this, so no event sent below is skipped
+        await().atMost(Duration.ofSeconds(30)).until(() -> assignmentListener.getPositionedPartitions().size() == 1);
+        responseCache.get(1L, () -> user(1L));
+        responseCache.get(2L, () -> user(2L));
+    }
+
+    @Test
+    @DisplayName("Should evict a user updated or deleted on another instance")
+    void testEvictsOnRemoteChange() throws Exception {
+        send(UserEventType.UPDATE, 1L);
+        send(UserEventType.DELETE, 2L);
+
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> {
+            assertThat(responseCache.getIfPresent(1L)).isNull();
+            assertThat(responseCache.getIfPresent(2L)).isNull();
+        });
+    }
+
+    @Test
+    @DisplayName("Should keep cached users on create events")
+    void testIgnoresCreate() throws Exception {
+        send(UserEventType.CREATE, 1L);
+        send(UserEventType.UPDATE, 2L);
+
+        await().atMost(Duration.ofSeconds(10)).until(() -> responseCache.getIfPresent(2L) == null);
+        assertThat(responseCache.getIfPresent(1L)).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should never commit offsets for its per-instance group")
+    void testCommitsNoOffsets() throws Exception {
+        send(UserEventType.DELETE, 1L);
+        await().atMost(Duration.ofSeconds(10)).until(() -> responseCache.getIfPresent(1L) == null);
+
+        String groupId = listenerRegistry.getListenerContainer(UserCacheInvalidationListener.LISTENER_ID).getGroupId();
+        try (AdminClient admin = AdminClient.create(Map.of(
+                AdminClientConfig.BOOTSTRAP_SERVERS_CONFIG, embeddedKafka.getBrokersAsString()))) {
+            assertThat(admin.listConsumerGroupOffsets(groupId).partitionsToOffsetAndMetadata()
+                    .get(10, TimeUnit.SECONDS)).isEmpty();
+        }
+    }
+
+    private void send(UserEventType operation, long userId) throws Exception {
+        producerService.sendUserEvent(new UserEvent(operation, userId, "user" + userId + "@email.com",
+                System.currentTimeMillis())).get(10, TimeUnit.SECONDS);
+    }
+
+    private static UserDto user(long id) {
+        return new UserDto(id, "User", "user" + id + "@email.com", 30, LocalDateTime.of(2023, 10, 11, 23, 10, 5), 0L);
+    }
+}
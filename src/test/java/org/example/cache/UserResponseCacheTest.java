@@ -0,0 +1,120 @@
+package org.example.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.exception.EntityNotFoundException;
+import org.example.model.dto.UserDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class UserResponseCacheTest {
+    private UserResponseCache cache;
+    private AtomicInteger loads;
+    private UserDto userDto;
+
+    @BeforeEach
+    void setUp() {
+        cache = new UserResponseCache(1024 * 1024, Duration.ofMinutes(1),
+                Jackson2ObjectMapperBuilder.json().build(), new SimpleMeterRegistry());
+        loads = new AtomicInteger();
+        userDto = new UserDto(1L, "John", "some@email.com", 22, LocalDateTime.of(2023, 10, 11, 23, 10, 5), 0L);
+    }
+
+    @Test
+    @DisplayName("Should serialize a user once and serve the cached body afterwards")
+    void testGetLoadsOnce() {
+        byte[] first = cache.get(1L, this::load).body();
+        byte[] second = cache.get(1L, this::load).body();
+
+        assertEquals(1, loads.get());
+        assertThat(second).isSameAs(first);
+        assertThat(new String(first, StandardCharsets.UTF_8))
+                .contains("\"email\":\"some@email.com\"")
+                .contains("\"createdAt\":\"2023-10-11 23:10:05\"");
+        assertEquals(1, cache.stats().hitCount());
+        assertEquals(1, cache.stats().missCount());
+    }
+
+    @Test
+    @DisplayName("Should reload a user after invalidation")
+    void testInvalidate() {
+        cache.get(1L, this::load);
+        cache.invalidate(1L);
+        cache.get(1L, this::load);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("Should not cache a missing user")
+    void testNotFoundIsNotCached() {
+        assertThrows(EntityNotFoundException.class, () -> cache.get(2L, () -> {
+            throw new EntityNotFoundException("User not found .");
+        }));
+
+        cache.get(2L, this::load);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    @DisplayName("Should load only uncached users, in one call, and skip missing ones")
+    void testGetAll() {
+        cache.get(1L, this::load);
+        List<Set<Long>> batches = new ArrayList<>();
+
+        Map<Long, UserResponseCache.Entry> found = cache.getAll(List.of(1L, 2L, 3L), ids -> {
+            batches.add(ids);
+            return List.of(new UserDto(2L, "Jane", "other@email.com", 30, LocalDateTime.of(2023, 10, 12, 8, 0, 0), 4L));
+        });
+
+        assertEquals(List.of(Set.of(2L, 3L)), batches);
+        assertThat(found).containsOnlyKeys(1L, 2L);
+        assertEquals(4L, found.get(2L).version());
+        assertThat(cache.getIfPresent(2L)).isSameAs(found.get(2L));
+        assertThat(cache.getIfPresent(3L)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should not cache a bulk-loaded user invalidated while the load was reading")
+    void testGetAllInvalidatedDuringLoad() {
+        Map<Long, UserResponseCache.Entry> found = cache.getAll(List.of(1L), ids -> {
+            cache.invalidate(1L); // a write to user 1 commits while the bulk read still holds the old row
+            return List.of(userDto);
+        });
+
+        assertThat(found).containsOnlyKeys(1L);
+        assertThat(cache.getIfPresent(1L)).isNull();
+        cache.get(1L, this::load);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    @DisplayName("Should not cache a bulk load that overlapped with clearing the cache")
+    void testGetAllClearedDuringLoad() {
+        cache.getAll(List.of(1L), ids -> {
+            cache.invalidateAll();
+            return List.of(userDto);
+        });
+
+        assertThat(cache.getIfPresent(1L)).isNull();
+    }
+
+    private UserDto load() {
+        loads.incrementAndGet();
+        return userDto;
+    }
+}
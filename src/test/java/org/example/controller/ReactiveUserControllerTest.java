@@ -0,0 +1,143 @@
+package org.example.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.exception.EmailConflictException;
+import org.example.exception.EntityNotFoundException;
+import org.example.exception.ErrorHandler;
+import org.example.exception.ErrorMode;
+import org.example.model.dto.NewUserDto;
+import org.example.model.dto.UserDto;
+import org.example.model.dto.UserPageDto;
+import org.example.service.ReactiveUserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveUserControllerTest {
+    @Mock
+    private ReactiveUserService userService;
+
+    @Spy
+    private ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @InjectMocks
+    private ReactiveUserController userController;
+
+    private WebTestClient client;
+    private NewUserDto newUserDto;
+    private UserDto userDto;
+
+    @BeforeEach
+    void setUp() {
+        client = WebTestClient.bindToController(userController)
+                .controllerAdvice(new ErrorHandler(ErrorMode.MINIMAL, 10))
+                .build();
+        newUserDto = new NewUserDto("John", "some@email.com", 22);
+        userDto = new UserDto(1L, "John", "some@email.com", 22, LocalDateTime.of(2023, 10, 11, 23, 10, 5), 0L);
+    }
+
+    @Test
+    @DisplayName("Should create a user")
+    void testCreate() {
+        when(userService.create(any())).thenReturn(Mono.just(userDto));
+
+        client.post().uri("/user")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(newUserDto)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(1)
+                .jsonPath("$.createdAt").isEqualTo("2023-10-11 23:10:05");
+    }
+
+    @Test
+    @DisplayName("Should reject an invalid user without calling the service")
+    void testCreateInvalid() {
+        client.post().uri("/user")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new NewUserDto("J", "not-an-email", -1))
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verify(userService, never()).create(any());
+    }
+
+    @Test
+    @DisplayName("Should map service errors to HTTP statuses")
+    void testErrors() {
+        when(userService.getById(2L)).thenReturn(Mono.error(new EntityNotFoundException("User not found .")));
+        when(userService.create(any()))
+                .thenReturn(Mono.error(new EmailConflictException("Such user email already exists .")));
+
+        client.get().uri("/user/2").exchange().expectStatus().isNotFound();
+        client.post().uri("/user")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(newUserDto)
+                .exchange()
+                .expectStatus().isEqualTo(409);
+    }
+
+    @Test
+    @DisplayName("Should return a page of users")
+    void testSearch() {
+        when(userService.search(any(), eq("abc"), eq(10)))
+                .thenReturn(Mono.just(new UserPageDto(List.of(userDto), "next")));
+
+        client.get().uri("/users?emailDomain=email.com&cursor=abc&size=10")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.users[0].email").isEqualTo("some@email.com")
+                .jsonPath("$.nextCursor").isEqualTo("next");
+    }
+
+    @Test
+    @DisplayName("Should stream users as NDJSON")
+    void testExport() {
+        UserDto other = new UserDto(2L, "Jane", "other@email.com", 30, LocalDateTime.of(2023, 10, 12, 8, 0, 0), 0L);
+        when(userService.exportAll()).thenReturn(Flux.just(userDto, other));
+
+        client.get().uri("/users/export")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBody(String.class)
+                .value(body -> assertThat(body.split("\n"))
+                        .hasSize(2)
+                        .allMatch(line -> line.startsWith("{\"id\":"))
+                        .anyMatch(line -> line.contains("\"createdAt\":\"2023-10-12 08:00:00\"")));
+    }
+
+    @Test
+    @DisplayName("Should delete a user")
+    void testDelete() {
+        when(userService.delete(1L)).thenReturn(Mono.empty());
+
+        client.delete().uri("/user/1").exchange().expectStatus().isNoContent();
+
+        verify(userService).delete(1L);
+    }
+}
@@ -1,11 +1,21 @@
 package org.example.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.cache.UserResponseCache;
 import org.example.exception.EmailConflictException;
 import org.example.exception.EntityNotFoundException;
 import org.example.exception.ErrorHandler;
+import org.example.exception.ErrorMode;
+import org.example.exception.PreconditionFailedException;
+import org.example.model.ImportFormat;
+import org.example.model.dto.BatchItemResultDto;
+import org.example.model.dto.ImportReportDto;
 import org.example.model.dto.NewUserDto;
 import org.example.model.dto.UserDto;
+import org.example.model.dto.UserPageDto;
+import org.example.service.UserExportService;
+import org.example.service.UserImportService;
 import org.example.service.UserService;
 import org.jeasy.random.EasyRandom;
 import org.junit.jupiter.api.BeforeEach;
@@ -14,18 +24,33 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.hateoas.MediaTypes;
 import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
 import java.time.format.DateTimeFormatter;
 
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -34,6 +59,16 @@ class UserControllerTest {
     @Mock
     private UserService userService;
 
+    @Mock
+    private UserExportService exportService;
+
+    @Mock
+    private UserImportService importService;
+
+    @Spy
+    private UserResponseCache responseCache = new UserResponseCache(1024 * 1024, Duration.ofMinutes(1),
+            Jackson2ObjectMapperBuilder.json().build(), new SimpleMeterRegistry());
+
     @InjectMocks
     private UserController controller;
 
@@ -47,7 +82,7 @@ class UserControllerTest {
     void setUp() {
         mvc = MockMvcBuilders
                 .standaloneSetup(controller)
-                .setControllerAdvice(ErrorHandler.class)
+                .setControllerAdvice(new ErrorHandler(ErrorMode.VERBOSE, 10))
                 .build();
         newUserDto = makeNewUserDto();
         userDto = new EasyRandom().nextObject(UserDto.class);
@@ -87,6 +122,39 @@ class UserControllerTest {
                 .andExpect(status().is(409));
     }
 
+    @Test
+    @DisplayName("Should add a batch of users and return per-item results")
+    void testCreateAllUsersSuccess() throws Exception {
+        when(userService.createAll(any()))
+                .thenReturn(List.of(BatchItemResultDto.created(0, userDto), BatchItemResultDto.conflict(1)));
+
+        mvc.perform(post("/users/batch")
+                        .content(mapper.writeValueAsString(List.of(newUserDto, newUserDto)))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status", is("CREATED")))
+                .andExpect(jsonPath("$[0].user.id", is(userDto.getId()), Long.class))
+                .andExpect(jsonPath("$[1].index", is(1)))
+                .andExpect(jsonPath("$[1].status", is("CONFLICT")));
+    }
+
+    @Test
+    @DisplayName("Should import users from a streamed CSV body")
+    void testImportUsersFromCsvStream() throws Exception {
+        when(importService.importUsers(any(), eq(ImportFormat.CSV)))
+                .thenReturn(ImportReportDto.builder().read(2).created(2).build());
+
+        mvc.perform(post("/users/import")
+                        .content("name,email,age\nJohn,some@email.com,22\nJane,other@email.com,23\n")
+                        .contentType("text/csv")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.read", is(2)))
+                .andExpect(jsonPath("$.created", is(2)));
+    }
+
     @Test
     @DisplayName("Should get a user by id successfully")
     void testGetUserByIdSuccess() throws Exception {
@@ -107,6 +175,83 @@ class UserControllerTest {
                         .format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")))));
     }
 
+    @Test
+    @DisplayName("Should serve repeated gets of a user from the response cache")
+    void testGetUserByIdServedFromCache() throws Exception {
+        when(userService.getById(any()))
+                .thenReturn(userDto);
+
+        for (int i = 0; i < 3; i++) {
+            mvc.perform(get("/user/" + userDto.getId())
+                            .accept(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.id", is(userDto.getId()), Long.class))
+                    .andExpect(jsonPath("$.email", is(userDto.getEmail())));
+        }
+
+        verify(userService, times(1)).getById(userDto.getId());
+    }
+
+    @Test
+    @DisplayName("Should list users by filter with a next page cursor")
+    void testSearchUsersSuccess() throws Exception {
+        when(userService.search(any(), eq("abc"), eq(20)))
+                .thenReturn(new UserPageDto(List.of(userDto), "def"));
+
+        mvc.perform(get("/users")
+                        .param("namePrefix", "Jo")
+                        .param("minAge", "18")
+                        .param("createdFrom", "2023-10-11 00:00:00")
+                        .param("cursor", "abc")
+                        .param("size", "20")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.users[0].id", is(userDto.getId()), Long.class))
+                .andExpect(jsonPath("$.nextCursor", is("def")));
+    }
+
+    @Test
+    @DisplayName("Should get many users in request order with one service call and report missing ids")
+    void testGetAllUsersById() throws Exception {
+        UserDto other = new UserDto(userDto.getId() + 1, "Jane", "other@email.com", 30,
+                userDto.getCreatedAt(), 0L);
+        when(userService.getAllById(any()))
+                .thenReturn(List.of(other, userDto));
+
+        mvc.perform(get("/users")
+                        .param("ids", userDto.getId() + ",404," + other.getId() + "," + userDto.getId())
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.users.length()", is(2)))
+                .andExpect(jsonPath("$.users[0].id", is(userDto.getId()), Long.class))
+                .andExpect(jsonPath("$.users[1].id", is(other.getId()), Long.class))
+                .andExpect(jsonPath("$.missing", contains(404)));
+        mvc.perform(get("/users")
+                        .param("ids", other.getId().toString())
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.users[0].id", is(other.getId()), Long.class))
+                .andExpect(jsonPath("$.missing").isEmpty());
+
+        verify(userService, times(1)).getAllById(any());
+        verify(userService, never()).search(any(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should stream all users as NDJSON")
+    void testExportAllUsers() throws Exception {
+        doAnswer(invocation -> {
+            invocation.getArgument(0, OutputStream.class)
+                    .write("{\"id\":1}\n{\"id\":2}\n".getBytes(StandardCharsets.UTF_8));
+            return 2L;
+        }).when(exportService).exportAll(any());
+
+        mvc.perform(get("/users/export"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/x-ndjson;charset=UTF-8"))
+                .andExpect(content().string("{\"id\":1}\n{\"id\":2}\n"));
+    }
+
     @Test
     @DisplayName("Should handle exception when getting user")
     void testGetByIdUserWhenServiceThrowsException() throws Exception {
@@ -121,10 +266,110 @@ class UserControllerTest {
                 .andExpect(status().is(404));
     }
 
+    @Test
+    @DisplayName("Should return the user version as a strong ETag")
+    void testGetUserByIdReturnsETag() throws Exception {
+        when(userService.getById(any()))
+                .thenReturn(userDto);
+
+        mvc.perform(get("/user/" + userDto.getId())
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"" + userDto.getVersion() + "\""))
+                .andExpect(jsonPath("$.version").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("Should add hypermedia links only when HAL is requested")
+    void testGetUserByIdHal() throws Exception {
+        when(userService.getById(any()))
+                .thenReturn(userDto);
+
+        mvc.perform(get("/user/" + userDto.getId()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.links").doesNotExist());
+        mvc.perform(get("/user/" + userDto.getId())
+                        .accept(MediaTypes.HAL_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"" + userDto.getVersion() + "\""))
+                .andExpect(jsonPath("$.id", is(userDto.getId()), Long.class))
+                .andExpect(jsonPath("$.links[0].rel", is("self")))
+                .andExpect(jsonPath("$.links[0].href", is("http://localhost/user/" + userDto.getId())));
+    }
+
+    @Test
+    @DisplayName("Should answer a matching If-None-Match with 304 from the version alone")
+    void testGetUserByIdNotModified() throws Exception {
+        when(userService.getVersion(userDto.getId()))
+                .thenReturn(userDto.getVersion());
+
+        mvc.perform(get("/user/" + userDto.getId())
+                        .header("If-None-Match", "W/\"" + userDto.getVersion() + "\"")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"" + userDto.getVersion() + "\""))
+                .andExpect(content().string(""));
+
+        verify(userService, never()).getById(any());
+    }
+
+    @Test
+    @DisplayName("Should answer If-None-Match from the response cache without touching the service")
+    void testGetUserByIdNotModifiedFromCache() throws Exception {
+        when(userService.getById(any()))
+                .thenReturn(userDto);
+        mvc.perform(get("/user/" + userDto.getId()))
+                .andExpect(status().isOk());
+
+        mvc.perform(get("/user/" + userDto.getId())
+                        .header("If-None-Match", "\"" + userDto.getVersion() + "\""))
+                .andExpect(status().isNotModified());
+        mvc.perform(get("/user/" + userDto.getId())
+                        .header("If-None-Match", "\"" + (userDto.getVersion() + 1) + "\""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id", is(userDto.getId()), Long.class));
+
+        verify(userService, times(1)).getById(userDto.getId());
+        verify(userService, never()).getVersion(any());
+    }
+
+    @Test
+    @DisplayName("Should pass the If-Match version to the service and return the new ETag")
+    void testUpdateUserIfMatch() throws Exception {
+        when(userService.update(eq(userDto.getId()), any(), eq(7L)))
+                .thenReturn(userDto);
+
+        mvc.perform(patch("/user/" + userDto.getId())
+                        .header("If-Match", "\"7\"")
+                        .content(mapper.writeValueAsString(newUserDto))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"" + userDto.getVersion() + "\""));
+    }
+
+    @Test
+    @DisplayName("Should reject a stale or weak If-Match with 412")
+    void testUpdateUserIfMatchFails() throws Exception {
+        when(userService.update(any(), any(), eq(7L)))
+                .thenThrow(PreconditionFailedException.VERSION_MISMATCH);
+
+        mvc.perform(patch("/user/" + userDto.getId())
+                        .header("If-Match", "\"7\"")
+                        .content(mapper.writeValueAsString(newUserDto))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isPreconditionFailed());
+        mvc.perform(delete("/user/" + userDto.getId())
+                        .header("If-Match", "W/\"7\""))
+                .andExpect(status().isPreconditionFailed());
+
+        verify(userService, never()).delete(any(), any());
+    }
+
     @Test
     @DisplayName("Should update a user successfully")
     void testUpdateUserSuccess() throws Exception {
-        when(userService.update(any(), any()))
+        when(userService.update(any(), any(), any()))
                 .thenReturn(userDto);
 
         mvc.perform(patch("/user/" + userDto.getId())
@@ -145,7 +390,7 @@ class UserControllerTest {
     @Test
     @DisplayName("Should handle EntityNotFoundException when updating user")
     void testUpdateUserWhenServiceThrows404Exception() throws Exception {
-        when(userService.update(any(), any()))
+        when(userService.update(any(), any(), any()))
                 .thenThrow(EntityNotFoundException.class);
 
         mvc.perform(patch("/user/" + userDto.getId())
@@ -160,7 +405,7 @@ class UserControllerTest {
     @DisplayName("Should handle EmailConflictException when updating user")
     @Test
     void testUpdateUserWhenServiceThrows409Exception() throws Exception {
-        when(userService.update(any(), any()))
+        when(userService.update(any(), any(), any()))
                 .thenThrow(EmailConflictException.class);
 
         mvc.perform(patch("/user/" + userDto.getId())
@@ -0,0 +1,138 @@
+package org.example.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ReplicaRoutingDataSourceTest {
+    @Mock
+    private HikariDataSource primary;
+    @Mock
+    private HikariDataSource replica0;
+    @Mock
+    private HikariDataSource replica1;
+    @Mock
+    private Connection primaryConnection;
+    @Mock
+    private Connection replica0Connection;
+    @Mock
+    private Connection replica1Connection;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ReadYourWrites readYourWrites;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        meterRegistry = new SimpleMeterRegistry();
+        readYourWrites = new ReadYourWrites(Duration.ofMinutes(1), 100);
+        when(primary.getPoolName()).thenReturn("primary");
+        when(replica0.getPoolName()).thenReturn("replica-0");
+        when(replica1.getPoolName()).thenReturn("replica-1");
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replica0.getConnection()).thenReturn(replica0Connection);
+        when(replica1.getConnection()).thenReturn(replica1Connection);
+    }
+
+    @AfterEach
+    void tearDown() {
+        readYourWrites.unbind();
+    }
+
+    @Test
+    void getConnection_roundRobin() throws SQLException {
+        ReplicaRoutingDataSource dataSource = dataSource(ReplicaSelection.ROUND_ROBIN);
+
+        assertSame(replica0Connection, dataSource.getConnection());
+        assertSame(replica1Connection, dataSource.getConnection());
+        assertSame(replica0Connection, dataSource.getConnection());
+        verify(primary, never()).getConnection();
+        assertEquals(2, routed("replica-0", "replica"));
+    }
+
+    @Test
+    void getConnection_leastLoaded() throws SQLException {
+        HikariPoolMXBean busy = pool(5);
+        HikariPoolMXBean idle = pool(1);
+        when(replica0.getHikariPoolMXBean()).thenReturn(busy);
+        when(replica1.getHikariPoolMXBean()).thenReturn(idle);
+        ReplicaRoutingDataSource dataSource = dataSource(ReplicaSelection.LEAST_LOADED);
+
+        assertSame(replica1Connection, dataSource.getConnection());
+        assertSame(replica1Connection, dataSource.getConnection());
+    }
+
+    @Test
+    void getConnection_replicaDown() throws SQLException {
+        when(replica0.getConnection()).thenThrow(new SQLException("connection refused"));
+        ReplicaRoutingDataSource dataSource = dataSource(ReplicaSelection.ROUND_ROBIN);
+
+        assertSame(replica1Connection, dataSource.getConnection());
+        assertSame(replica1Connection, dataSource.getConnection());
+        assertSame(replica1Connection, dataSource.getConnection());
+        verify(replica0, times(1)).getConnection();
+    }
+
+    @Test
+    void getConnection_allReplicasDown() throws SQLException {
+        when(replica0.getConnection()).thenThrow(new SQLException("connection refused"));
+        when(replica1.getConnection()).thenThrow(new SQLException("connection refused"));
+        ReplicaRoutingDataSource dataSource = dataSource(ReplicaSelection.ROUND_ROBIN);
+
+        assertSame(primaryConnection, dataSource.getConnection());
+        assertSame(primaryConnection, dataSource.getConnection());
+        assertEquals(2, routed("primary", "fallback"));
+    }
+
+    @Test
+    void getConnection_readYourWrites() throws SQLException {
+        ReplicaRoutingDataSource dataSource = dataSource(ReplicaSelection.ROUND_ROBIN);
+        readYourWrites.recordWrite("ip:10.0.0.1");
+
+        readYourWrites.bind("ip:10.0.0.2");
+        assertSame(replica0Connection, dataSource.getConnection());
+        readYourWrites.unbind();
+
+        readYourWrites.bind("ip:10.0.0.1");
+        assertSame(primaryConnection, dataSource.getConnection());
+        assertEquals(1, routed("primary", "read-your-writes"));
+    }
+
+    private ReplicaRoutingDataSource dataSource(ReplicaSelection selection) {
+        return new ReplicaRoutingDataSource(primary, List.of(replica0, replica1), selection, readYourWrites,
+                Duration.ofMinutes(1), meterRegistry);
+    }
+
+    private long routed(String target, String reason) {
+        return (long) meterRegistry.get("datasource.routing").tags("target", target, "reason", reason).counter()
+                .count();
+    }
+
+    private static HikariPoolMXBean pool(int active) {
+        HikariPoolMXBean pool = mock(HikariPoolMXBean.class);
+        when(pool.getActiveConnections()).thenReturn(active);
+        return pool;
+    }
+}
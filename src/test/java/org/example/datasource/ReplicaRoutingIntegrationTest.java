@@ -0,0 +1,118 @@
+package org.example.datasource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.cache.UserResponseCache;
+import org.example.model.dto.NewUserDto;
+import org.example.model.dto.UserDto;
+import org.example.model.dto.UserFilter;
+import org.example.repository.UserRepository;
+import org.example.service.ProducerService;
+import org.example.service.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The "replica" is a second in-memory database that never catches up: it holds the row as it was
+ * created, so any read served from it after an update is visibly stale.
+ */
+@SpringBootTest(properties = "app.datasource.replicas[0].url=" + ReplicaRoutingIntegrationTest.REPLICA_URL)
+class ReplicaRoutingIntegrationTest {
+    static final String REPLICA_URL = "jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE";
+
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private UserResponseCache responseCache;
+    @Autowired
+    private ReadYourWrites readYourWrites;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @MockBean
+    private ProducerService producerService;
+    private final JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+    private UserDto user;
+
+    @BeforeEach
+    void setUp() {
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(replica.getDataSource());
+        user = userService.create(new NewUserDto("John", "replica-routing@email.com", 22));
+        replica.update("INSERT INTO users (id, name, email, age, created_at, version) OVERRIDING SYSTEM VALUE "
+                        + "VALUES (?, ?, ?, ?, ?, ?)",
+                user.getId(), user.getName(), user.getEmail(), user.getAge(), user.getCreatedAt(), user.getVersion());
+    }
+
+    @AfterEach
+    void tearDown() {
+        readYourWrites.unbind();
+        responseCache.invalidate(user.getId());
+        userRepository.deleteById(user.getId());
+    }
+
+    @Test
+    @DisplayName("Should serve read-only service calls from the replica and writes from the primary")
+    void testReadsGoToReplica() {
+        double replicaReads = routed("replica-0", "replica");
+
+        userService.update(user.getId(), new NewUserDto(null, null, 23), null);
+        assertEquals(replicaReads, routed("replica-0", "replica"));
+
+        assertThat(search()).extracting(UserDto::getAge).containsExactly(22);
+        assertEquals(replicaReads + 1, routed("replica-0", "replica"));
+    }
+
+    @Test
+    @DisplayName("Should fill the response cache from the primary right after a write")
+    void testCacheFillsReadPrimary() {
+        userService.getById(user.getId());
+        double replicaReads = routed("replica-0", "replica");
+
+        userService.update(user.getId(), new NewUserDto("Johnny", null, null), null);
+        UserResponseCache.Entry cached = responseCache.get(user.getId(), () -> userService.getById(user.getId()));
+        List<UserDto> batch = userService.getAllById(List.of(user.getId()));
+
+        assertThat(new String(cached.body(), StandardCharsets.UTF_8)).contains("\"name\":\"Johnny\"");
+        assertThat(batch).extracting(UserDto::getName).containsExactly("Johnny");
+        assertEquals(replicaReads, routed("replica-0", "replica"));
+    }
+
+    @Test
+    @DisplayName("Should keep a client that just wrote on the primary")
+    void testReadYourWrites() {
+        readYourWrites.recordWrite("ip:10.0.0.1");
+        readYourWrites.bind("ip:10.0.0.1");
+        double replicaReads = routed("replica-0", "replica");
+        double primaryReads = routed("primary", "read-your-writes");
+
+        userService.update(user.getId(), new NewUserDto(null, null, 23), null);
+
+        assertThat(search()).extracting(UserDto::getAge).containsExactly(23);
+        assertEquals(replicaReads, routed("replica-0", "replica"));
+        assertEquals(primaryReads + 1, routed("primary", "read-your-writes"));
+    }
+
+    private List<UserDto> search() {
+        return userService.search(UserFilter.builder().emailDomain("email.com").namePrefix("John").build(), null, 10)
+                .getUsers();
+    }
+
+    private double routed(String target, String reason) {
+        return meterRegistry.get("datasource.routing").tags("target", target, "reason", reason).counter().count();
+    }
+}
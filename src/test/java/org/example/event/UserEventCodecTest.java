@@ -0,0 +1,59 @@
+package org.example.event;
+
+import org.example.model.dto.UserEvent;
+import org.example.model.dto.UserEventType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class UserEventCodecTest {
+    private final UserEvent event = new UserEvent(UserEventType.CREATE, 42L, "some@email.com", 1_700_000_000_123L);
+
+    @Test
+    @DisplayName("Should round-trip an event through the binary format")
+    void testBinaryRoundTrip() {
+        byte[] data = UserEventCodec.encode(event);
+
+        assertEquals(UserEventCodec.HEADER_LENGTH + "some@email.com".length(), data.length);
+        assertEquals(UserEventCodec.VERSION, data[0]);
+        assertEquals(event, UserEventCodec.decode(data));
+    }
+
+    @Test
+    @DisplayName("Should encode non-ASCII emails as UTF-8")
+    void testNonAsciiEmail() {
+        UserEvent unicode = new UserEvent(UserEventType.DELETE, 7L, "пользователь@почта.рф", 1L);
+
+        byte[] data = UserEventCodec.encode(unicode);
+
+        assertEquals(UserEventCodec.HEADER_LENGTH + unicode.getEmail().getBytes(StandardCharsets.UTF_8).length,
+                data.length);
+        assertEquals(unicode, UserEventCodec.decode(data));
+    }
+
+    @Test
+    @DisplayName("Should decode JSON encoded events")
+    void testJsonFallback() {
+        byte[] data = UserEventCodec.encodeJson(event);
+
+        assertEquals('{', data[0]);
+        assertEquals(event, UserEventCodec.decode(data));
+    }
+
+    @Test
+    @DisplayName("Should reject unknown versions and truncated payloads")
+    void testMalformed() {
+        byte[] data = UserEventCodec.encode(event);
+        byte[] unknownVersion = data.clone();
+        unknownVersion[0] = 2;
+
+        assertThrows(IllegalArgumentException.class, () -> UserEventCodec.decode(unknownVersion));
+        assertThrows(IllegalArgumentException.class, () -> UserEventCodec.decode(Arrays.copyOf(data, data.length - 1)));
+        assertThrows(IllegalArgumentException.class, () -> UserEventCodec.decode(Arrays.copyOf(data, 10)));
+    }
+}
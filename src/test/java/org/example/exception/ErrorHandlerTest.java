@@ -0,0 +1,49 @@
+package org.example.exception;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ErrorHandlerTest {
+
+    @Test
+    @DisplayName("Should return a minimal error without trace or escape codes")
+    void testMinimalMode() {
+        ErrorHandler errorHandler = new ErrorHandler(ErrorMode.MINIMAL, 10);
+
+        ApiError error = errorHandler.handleEntityNotFoundException(EntityNotFoundException.USER_NOT_FOUND);
+
+        assertEquals(HttpStatus.NOT_FOUND, error.getStatus());
+        assertEquals("User not found .", error.getMessage());
+        assertEquals("The required object was not found.", error.getReason());
+        assertNull(error.getErrors());
+    }
+
+    @Test
+    @DisplayName("Should include the trace and colored message in verbose mode")
+    void testVerboseMode() {
+        ErrorHandler errorHandler = new ErrorHandler(ErrorMode.VERBOSE, 10);
+
+        ApiError error = errorHandler.handleValidationExceptions(EmailConflictException.EMAIL_EXISTS);
+
+        assertEquals(HttpStatus.CONFLICT, error.getStatus());
+        assertThat(error.getMessage()).contains("Such user email already exists .").startsWith("\u001b[31m");
+        assertThat(error.getErrors()).startsWith(EmailConflictException.class.getName());
+    }
+
+    @Test
+    @DisplayName("Should not capture stack traces or suppressed exceptions for expected errors")
+    void testStacklessExceptions() {
+        EntityNotFoundException e = new EntityNotFoundException("User not found .");
+        e.addSuppressed(new IllegalStateException());
+
+        assertThat(e.getStackTrace()).isEmpty();
+        assertThat(e.getSuppressed()).isEmpty();
+        assertThat(EmailConflictException.EMAIL_EXISTS.getStackTrace()).isEmpty();
+        assertThat(InvalidCursorException.INVALID_CURSOR.getStackTrace()).isEmpty();
+    }
+}
@@ -0,0 +1,35 @@
+package org.example.filter;
+
+import org.example.logger.AccessLogger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class AccessLogFilterTest {
+    @Mock
+    private AccessLogger accessLogger;
+
+    @InjectMocks
+    private AccessLogFilter filter;
+
+    @Test
+    void doFilter() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/user/7");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        response.setStatus(404);
+
+        filter.doFilter(request, response, new MockFilterChain());
+
+        verify(accessLogger).log(eq("GET"), eq("/user/7"), eq(404), anyLong(), anyLong());
+    }
+}
@@ -0,0 +1,106 @@
+package org.example.filter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.example.limit.ServiceTime;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ConcurrencyLimitFilterTest {
+    private SimpleMeterRegistry meterRegistry;
+    private ServiceTime serviceTime;
+    private ConcurrencyLimitFilter filter;
+    private List<MockHttpServletResponse> nested;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        serviceTime = new ServiceTime();
+        filter = new ConcurrencyLimitFilter(2, 1, 10, 0.5, Duration.ofSeconds(2), serviceTime,
+                Jackson2ObjectMapperBuilder.json().build(), meterRegistry);
+        nested = new ArrayList<>();
+    }
+
+    @Test
+    void doFilter() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/user/7"), response, new MockFilterChain());
+
+        assertEquals(200, response.getStatus());
+        assertEquals(0.0, meterRegistry.get("user.concurrency.in.flight").gauge().value());
+        assertEquals(2.0, meterRegistry.get("user.concurrency.limit").gauge().value());
+    }
+
+    @Test
+    void doFilter_samplesServiceTimeOnly() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            filter.doFilter(new MockHttpServletRequest("GET", "/user/7"), new MockHttpServletResponse(),
+                    reentering("GET /user/8"));
+        }
+        assertEquals(2.0, meterRegistry.get("user.concurrency.limit").gauge().value());
+
+        for (int i = 0; i < 10; i++) {
+            filter.doFilter(new MockHttpServletRequest("GET", "/user/7"), new MockHttpServletResponse(),
+                    (request, response) -> filter.doFilter(new MockHttpServletRequest("GET", "/user/8"),
+                            new MockHttpServletResponse(),
+                            (inner, innerResponse) -> serviceTime.record(TimeUnit.MILLISECONDS.toNanos(5))));
+        }
+        assertThat(meterRegistry.get("user.concurrency.limit").gauge().value()).isGreaterThan(2.0);
+        assertEquals(0.0, meterRegistry.get("user.concurrency.in.flight").gauge().value());
+    }
+
+    @Test
+    void doFilter_writeShedBeforeRead() throws Exception {
+        filter.doFilter(new MockHttpServletRequest("PATCH", "/user/7"), new MockHttpServletResponse(),
+                reentering("PATCH /user/8", "GET /user/8"));
+
+        assertEquals(503, nested.get(0).getStatus());
+        assertEquals("2", nested.get(0).getHeader("Retry-After"));
+        assertThat(nested.get(0).getContentAsString()).contains("\"status\":\"SERVICE_UNAVAILABLE\"");
+        assertEquals(200, nested.get(1).getStatus());
+        assertEquals(1.0, meterRegistry.get("user.concurrency.rejected").tag("priority", "write").counter().count());
+        assertEquals(0.0, meterRegistry.get("user.concurrency.rejected").tag("priority", "read").counter().count());
+    }
+
+    @Test
+    void doFilter_skipsOtherPaths() throws Exception {
+        filter.doFilter(new MockHttpServletRequest("GET", "/user/7"), new MockHttpServletResponse(),
+                reentering("GET /users", "GET /user/8"));
+        filter.doFilter(new MockHttpServletRequest("GET", "/user/7"), new MockHttpServletResponse(),
+                (request, response) -> filter.doFilter(new MockHttpServletRequest("GET", "/user/8"),
+                        new MockHttpServletResponse(),
+                        reentering("GET /user/9", "GET /actuator/health", "GET /users/export")));
+
+        assertEquals(List.of(200, 200, 503, 200, 200),
+                nested.stream().map(MockHttpServletResponse::getStatus).toList());
+    }
+
+    /**
+     * Issues the given "METHOD /uri" requests one by one from inside the chain, while the enclosing
+     * requests still hold their permits.
+     */
+    private FilterChain reentering(String... requests) {
+        return (request, response) -> {
+            for (String line : requests) {
+                String[] methodAndUri = line.split(" ");
+                MockHttpServletResponse inner = new MockHttpServletResponse();
+                filter.doFilter(new MockHttpServletRequest(methodAndUri[0], methodAndUri[1]), inner,
+                        new MockFilterChain());
+                nested.add(inner);
+            }
+        };
+    }
+}
@@ -0,0 +1,99 @@
+package org.example.filter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.config.RateLimitProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class RateLimitFilterTest {
+    private SimpleMeterRegistry meterRegistry;
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setRead(new RateLimitProperties.Budget(3, 0.001));
+        properties.setWrite(new RateLimitProperties.Budget(2, 0.001));
+        RateLimitProperties.Endpoint create = new RateLimitProperties.Endpoint();
+        create.setMethod("POST");
+        create.setPath("/user");
+        create.setCapacity(1);
+        create.setRefillPerSecond(0.001);
+        properties.setEndpoints(List.of(create));
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new RateLimitFilter(properties, new ClientKeys(Set.of("integration-a")),
+                Jackson2ObjectMapperBuilder.json().build(), meterRegistry);
+    }
+
+    @Test
+    void doFilter() throws Exception {
+        MockHttpServletResponse first = send("GET", "/user/7", "10.0.0.1");
+        send("GET", "/users", "10.0.0.1");
+        send("GET", "/user/7", "10.0.0.1");
+        MockHttpServletResponse rejected = send("GET", "/user/7", "10.0.0.1");
+
+        assertEquals(200, first.getStatus());
+        assertEquals("3", first.getHeader("RateLimit-Limit"));
+        assertEquals("2", first.getHeader("RateLimit-Remaining"));
+        assertEquals(429, rejected.getStatus());
+        assertEquals("0", rejected.getHeader("RateLimit-Remaining"));
+        assertThat(Long.parseLong(rejected.getHeader("Retry-After"))).isPositive();
+        assertThat(rejected.getContentAsString()).contains("\"status\":\"TOO_MANY_REQUESTS\"");
+        assertEquals(1.0, meterRegistry.get("user.rate-limit.rejected").tag("policy", "read").counter().count());
+        assertEquals(200, send("GET", "/user/7", "10.0.0.2").getStatus());
+    }
+
+    @Test
+    void doFilter_endpointBudget() throws Exception {
+        assertEquals(200, send("POST", "/user", "10.0.0.1").getStatus());
+        assertEquals(429, send("POST", "/user", "10.0.0.1").getStatus());
+        assertEquals(200, send("PATCH", "/user/7", "10.0.0.1").getStatus());
+        assertEquals("2", send("DELETE", "/user/7", "10.0.0.1").getHeader("RateLimit-Limit"));
+        assertEquals(1.0, meterRegistry.get("user.rate-limit.rejected").tag("policy", "POST /user").counter().count());
+    }
+
+    @Test
+    void doFilter_byKnownApiKeyOnly() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(200, send("GET", "/user/7", "10.0.0.1", "made-up-" + i).getStatus());
+        }
+        assertEquals(429, send("GET", "/user/7", "10.0.0.1", "made-up-3").getStatus());
+        assertEquals(200, send("GET", "/user/7", "10.0.0.1", "integration-a").getStatus());
+    }
+
+    @Test
+    void doFilter_skipsOtherPaths() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            MockHttpServletResponse response = send("GET", "/actuator/health", "10.0.0.1");
+            assertEquals(200, response.getStatus());
+            assertNull(response.getHeader("RateLimit-Limit"));
+        }
+    }
+
+    private MockHttpServletResponse send(String method, String uri, String remoteAddr) throws Exception {
+        return send(method, uri, remoteAddr, null);
+    }
+
+    private MockHttpServletResponse send(String method, String uri, String remoteAddr, String apiKey)
+            throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.setRemoteAddr(remoteAddr);
+        if (apiKey != null) {
+            request.addHeader(ClientKeys.API_KEY_HEADER, apiKey);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
@@ -0,0 +1,64 @@
+package org.example.filter;
+
+import jakarta.servlet.FilterChain;
+import org.example.datasource.ReadYourWrites;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class ReadYourWritesFilterTest {
+    private ReadYourWrites readYourWrites;
+    private ReadYourWritesFilter filter;
+    private List<Boolean> primaryRequired;
+
+    @BeforeEach
+    void setUp() {
+        readYourWrites = new ReadYourWrites(Duration.ofMinutes(1), 100);
+        filter = new ReadYourWritesFilter(readYourWrites, new ClientKeys(Set.of("integration-a")));
+        primaryRequired = new ArrayList<>();
+    }
+
+    @Test
+    void doFilter() throws Exception {
+        filter.doFilter(request("GET", "10.0.0.1", null), new MockHttpServletResponse(), chain());
+        filter.doFilter(request("PATCH", "10.0.0.1", null), new MockHttpServletResponse(), chain());
+        filter.doFilter(request("GET", "10.0.0.1", null), new MockHttpServletResponse(), chain());
+        filter.doFilter(request("GET", "10.0.0.2", null), new MockHttpServletResponse(), chain());
+
+        assertEquals(List.of(false, true, true, false), primaryRequired);
+        assertFalse(readYourWrites.isPrimaryRequired());
+    }
+
+    @Test
+    void doFilter_byApiKey() throws Exception {
+        filter.doFilter(request("POST", "10.0.0.1", "integration-a"), new MockHttpServletResponse(), chain());
+        filter.doFilter(request("GET", "10.0.0.2", "integration-a"), new MockHttpServletResponse(), chain());
+        filter.doFilter(request("GET", "10.0.0.1", null), new MockHttpServletResponse(), chain());
+        filter.doFilter(request("PATCH", "10.0.0.3", "made-up"), new MockHttpServletResponse(), chain());
+        filter.doFilter(request("GET", "10.0.0.4", "made-up"), new MockHttpServletResponse(), chain());
+
+        assertEquals(List.of(true, true, false, true, false), primaryRequired);
+    }
+
+    private FilterChain chain() {
+        return (request, response) -> primaryRequired.add(readYourWrites.isPrimaryRequired());
+    }
+
+    private static MockHttpServletRequest request(String method, String remoteAddr, String apiKey) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/user/7");
+        request.setRemoteAddr(remoteAddr);
+        if (apiKey != null) {
+            request.addHeader(ClientKeys.API_KEY_HEADER, apiKey);
+        }
+        return request;
+    }
+}
@@ -0,0 +1,93 @@
+package org.example.limit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveConcurrencyLimiterTest {
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(5);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(50);
+
+    @Test
+    void tryAcquire_writesGetShareOfLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 1, 100, 0.5);
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(limiter.tryAcquire(true));
+        }
+        assertFalse(limiter.tryAcquire(true));
+        for (int i = 0; i < 5; i++) {
+            assertTrue(limiter.tryAcquire(false));
+        }
+        assertFalse(limiter.tryAcquire(false));
+        assertEquals(10, limiter.getInFlight());
+    }
+
+    @Test
+    void release_growsWhileLatencyHolds() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 1, 100, 0.8);
+
+        runSaturated(limiter, FAST, 50);
+
+        assertThat(limiter.getLimit()).isGreaterThan(20);
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void release_shrinksWhenLatencyRises() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(50, 4, 100, 0.8);
+        runSaturated(limiter, FAST, 20);
+        int before = limiter.getLimit();
+
+        runSaturated(limiter, SLOW, 20);
+
+        assertThat(limiter.getLimit()).isLessThan(before / 2).isGreaterThanOrEqualTo(4);
+    }
+
+    @Test
+    void release_ignoresSamplesFarBelowLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(20, 1, 100, 0.8);
+
+        for (int i = 0; i < 50; i++) {
+            limiter.tryAcquire(false);
+            limiter.release(i % 2 == 0 ? FAST : SLOW);
+        }
+
+        assertEquals(20, limiter.getLimit());
+    }
+
+    @Test
+    void release_withoutSampleKeepsLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 1, 100, 0.8);
+
+        for (int round = 0; round < 50; round++) {
+            int acquired = 0;
+            while (limiter.tryAcquire(false)) {
+                acquired++;
+            }
+            for (int i = 0; i < acquired; i++) {
+                limiter.release();
+            }
+        }
+
+        assertEquals(10, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    private static void runSaturated(AdaptiveConcurrencyLimiter limiter, long rttNanos, int rounds) {
+        for (int round = 0; round < rounds; round++) {
+            int acquired = 0;
+            while (limiter.tryAcquire(false)) {
+                acquired++;
+            }
+            for (int i = 0; i < acquired; i++) {
+                limiter.release(rttNanos);
+            }
+        }
+    }
+}
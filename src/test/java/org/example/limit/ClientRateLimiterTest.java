@@ -0,0 +1,65 @@
+package org.example.limit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ClientRateLimiterTest {
+    private static final ClientRateLimiter.Policy WRITE = new ClientRateLimiter.Policy("write", 2, 0.5);
+    private static final ClientRateLimiter.Policy READ = new ClientRateLimiter.Policy("read", 5, 5);
+
+    private AtomicLong clock;
+    private ClientRateLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        clock = new AtomicLong();
+        limiter = new ClientRateLimiter(Duration.ofMinutes(1), 1000, clock::get);
+    }
+
+    @Test
+    void tryAcquire() {
+        ClientRateLimiter.Decision first = limiter.tryAcquire("ip:10.0.0.1", WRITE);
+        limiter.tryAcquire("ip:10.0.0.1", WRITE);
+        ClientRateLimiter.Decision rejected = limiter.tryAcquire("ip:10.0.0.1", WRITE);
+
+        assertTrue(first.allowed());
+        assertEquals(2, first.limit());
+        assertEquals(1, first.remaining());
+        assertEquals(2, first.resetSeconds());
+        assertFalse(rejected.allowed());
+        assertEquals(0, rejected.remaining());
+        assertEquals(2, rejected.retryAfterSeconds());
+        assertEquals(4, rejected.resetSeconds());
+    }
+
+    @Test
+    void tryAcquire_separateBudgets() {
+        limiter.tryAcquire("ip:10.0.0.1", WRITE);
+        limiter.tryAcquire("ip:10.0.0.1", WRITE);
+
+        assertFalse(limiter.tryAcquire("ip:10.0.0.1", WRITE).allowed());
+        assertTrue(limiter.tryAcquire("ip:10.0.0.1", READ).allowed());
+        assertTrue(limiter.tryAcquire("ip:10.0.0.2", WRITE).allowed());
+    }
+
+    @Test
+    void tryAcquire_evictsIdleBuckets() {
+        limiter.tryAcquire("ip:10.0.0.1", READ);
+        limiter.tryAcquire("ip:10.0.0.2", READ);
+        assertEquals(2, limiter.estimatedSize());
+
+        clock.addAndGet(TimeUnit.MINUTES.toNanos(2));
+        limiter.tryAcquire("ip:10.0.0.3", READ);
+        limiter.cleanUp();
+
+        assertEquals(1, limiter.estimatedSize());
+    }
+}
@@ -0,0 +1,40 @@
+package org.example.limit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TokenBucketTest {
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void tryConsume() {
+        long now = -5 * SECOND;
+        TokenBucket bucket = new TokenBucket(3, 1, now);
+
+        assertEquals(2, bucket.tryConsume(now));
+        assertEquals(1, bucket.tryConsume(now));
+        assertEquals(0, bucket.tryConsume(now));
+        assertEquals(-1, bucket.tryConsume(now));
+        assertEquals(SECOND, bucket.nanosUntilAvailable(now));
+        assertEquals(3 * SECOND, bucket.nanosUntilFull(now));
+
+        assertEquals(0, bucket.tryConsume(now + SECOND));
+        assertEquals(-1, bucket.tryConsume(now + SECOND));
+    }
+
+    @Test
+    void tryConsume_refillsUpToCapacity() {
+        TokenBucket bucket = new TokenBucket(2, 10, 0);
+        bucket.tryConsume(0);
+        bucket.tryConsume(0);
+
+        long later = 60 * SECOND;
+        assertEquals(0, bucket.nanosUntilFull(later));
+        assertEquals(1, bucket.tryConsume(later));
+        assertEquals(0, bucket.tryConsume(later));
+        assertEquals(-1, bucket.tryConsume(later));
+    }
+}
@@ -0,0 +1,75 @@
+package org.example.logger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AccessLogRingTest {
+
+    @Test
+    @DisplayName("Should hand entries over in order and refuse them when full")
+    void testOfferAndPoll() {
+        AccessLogRing ring = new AccessLogRing(2);
+
+        assertTrue(ring.offer(entry("/user/1")));
+        assertTrue(ring.offer(entry("/user/2")));
+        assertFalse(ring.offer(entry("/user/3")));
+
+        assertEquals("/user/1", ring.poll().path());
+        assertTrue(ring.offer(entry("/user/4")));
+        assertEquals("/user/2", ring.poll().path());
+        assertEquals("/user/4", ring.poll().path());
+        assertNull(ring.poll());
+    }
+
+    @Test
+    @DisplayName("Should require a power-of-two capacity")
+    void testCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new AccessLogRing(3));
+    }
+
+    @Test
+    @DisplayName("Should not lose entries offered by concurrent producers")
+    void testConcurrentProducers() throws InterruptedException {
+        AccessLogRing ring = new AccessLogRing(1 << 14);
+        int producers = 4;
+        int perProducer = 2000;
+        CountDownLatch done = new CountDownLatch(producers);
+        try (ExecutorService executor = Executors.newFixedThreadPool(producers)) {
+            for (int p = 0; p < producers; p++) {
+                executor.execute(() -> {
+                    for (int i = 0; i < perProducer; i++) {
+                        ring.offer(entry("/user/" + i));
+                    }
+                    done.countDown();
+                });
+            }
+            List<AccessLogEntry> polled = new ArrayList<>();
+            while (polled.size() < producers * perProducer) {
+                AccessLogEntry entry = ring.poll();
+                if (entry != null) {
+                    polled.add(entry);
+                }
+            }
+            done.await();
+            assertThat(polled).hasSize(producers * perProducer);
+            assertNull(ring.poll());
+        }
+    }
+
+    private static AccessLogEntry entry(String path) {
+        return new AccessLogEntry(0, "GET", path, 200, 1000);
+    }
+}
@@ -0,0 +1,56 @@
+package org.example.logger;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AccessLoggerTest {
+
+    @Test
+    @DisplayName("Should sample successful requests but always keep server errors")
+    void testSampling() {
+        AccessLogger accessLogger = new AccessLogger(16, 0.0, new SimpleMeterRegistry());
+
+        accessLogger.log("GET", "/user/1", 200, 0, 1000);
+        accessLogger.log("GET", "/user/1", 500, 0, 1000);
+
+        assertEquals(1, accessLogger.drain());
+    }
+
+    @Test
+    @DisplayName("Should count entries dropped on a full buffer")
+    void testDropsWhenFull() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        AccessLogger accessLogger = new AccessLogger(2, 1.0, meterRegistry);
+
+        for (int i = 0; i < 5; i++) {
+            accessLogger.log("GET", "/user/" + i, 200, 0, 1000);
+        }
+
+        assertEquals(2, accessLogger.drain());
+        assertEquals(3, meterRegistry.get("access.log.dropped").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should wake an idle writer as soon as an entry is logged")
+    void testWakesIdleWriter() throws InterruptedException {
+        AccessLogger accessLogger = new AccessLogger(16, 1.0, new SimpleMeterRegistry());
+        accessLogger.start();
+        try {
+            Thread.sleep(50);
+            accessLogger.log("GET", "/user/1", 200, 0, 1000);
+
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(500);
+            while (accessLogger.pending() > 0 && System.nanoTime() < deadline) {
+                Thread.onSpinWait();
+            }
+            assertEquals(0, accessLogger.pending());
+        } finally {
+            accessLogger.stop();
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package org.example.logger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LogRateLimiterTest {
+
+    @Test
+    @DisplayName("Should let the configured number of statements through per second and count the rest")
+    void testTryAcquire() {
+        AtomicLong clock = new AtomicLong(TimeUnit.SECONDS.toNanos(100));
+        LogRateLimiter limiter = new LogRateLimiter(2, clock::get);
+
+        assertEquals(0, limiter.tryAcquire());
+        assertEquals(0, limiter.tryAcquire());
+        assertEquals(-1, limiter.tryAcquire());
+        assertEquals(-1, limiter.tryAcquire());
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertEquals(2, limiter.tryAcquire());
+        assertEquals(0, limiter.tryAcquire());
+        assertEquals(-1, limiter.tryAcquire());
+    }
+}
@@ -0,0 +1,91 @@
+package org.example.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.exception.EmailConflictException;
+import org.example.exception.EntityNotFoundException;
+import org.example.limit.ServiceTime;
+import org.example.model.dto.NewUserDto;
+import org.example.model.dto.UserDto;
+import org.example.service.ReactiveUserService;
+import org.example.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MetricsAspectTest {
+    @Mock
+    private UserService userService;
+    @Mock
+    private ReactiveUserService reactiveUserService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ServiceTime serviceTime;
+    private MetricsAspect metricsAspect;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        serviceTime = new ServiceTime();
+        metricsAspect = new MetricsAspect(meterRegistry, serviceTime);
+    }
+
+    @Test
+    @DisplayName("Should time service calls by method and outcome")
+    void testServiceOutcomes() {
+        UserService proxy = proxy(userService);
+        when(userService.getById(1L)).thenReturn(new UserDto());
+        when(userService.getById(2L)).thenThrow(EntityNotFoundException.USER_NOT_FOUND);
+        when(userService.create(null)).thenThrow(EmailConflictException.EMAIL_EXISTS);
+
+        proxy.getById(1L);
+        assertThrows(EntityNotFoundException.class, () -> proxy.getById(2L));
+        assertThrows(EntityNotFoundException.class, () -> proxy.getById(2L));
+        assertThrows(EmailConflictException.class, () -> proxy.create(null));
+
+        assertEquals(1, count("getById", "ok"));
+        assertEquals(2, count("getById", "not_found"));
+        assertEquals(1, count("create", "conflict"));
+        assertThat(serviceTime.total()).isPositive();
+    }
+
+    @Test
+    @DisplayName("Should time reactive calls when they complete")
+    void testReactiveOutcomes() {
+        ReactiveUserService proxy = proxy(reactiveUserService);
+        NewUserDto newUserDto = new NewUserDto("John", "some@email.com", 22);
+        when(reactiveUserService.create(newUserDto)).thenReturn(Mono.just(new UserDto()));
+        when(reactiveUserService.getById(2L)).thenReturn(Mono.error(EntityNotFoundException.USER_NOT_FOUND));
+
+        Mono<UserDto> created = proxy.create(newUserDto);
+        assertEquals(0, meterRegistry.find("user.service").timers().size());
+
+        StepVerifier.create(created).expectNextCount(1).verifyComplete();
+        StepVerifier.create(proxy.getById(2L)).expectError(EntityNotFoundException.class).verify();
+
+        assertEquals(1, count("create", "ok"));
+        assertEquals(1, count("getById", "not_found"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T proxy(T target) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.addAspect(metricsAspect);
+        return (T) factory.getProxy();
+    }
+
+    private long count(String method, String outcome) {
+        return meterRegistry.get("user.service").tag("method", method).tag("outcome", outcome).timer().count();
+    }
+}
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.example.controller.UserController;
 import org.example.exception.ErrorHandler;
+import org.example.exception.ErrorMode;
 import org.example.service.UserService;
 import org.jeasy.random.EasyRandom;
 import org.junit.jupiter.api.BeforeEach;
@@ -44,7 +45,7 @@ class NewUserDtoValidTest {
     void setUp() {
         mvc = MockMvcBuilders
                 .standaloneSetup(controller)
-                .setControllerAdvice(ErrorHandler.class)
+                .setControllerAdvice(new ErrorHandler(ErrorMode.VERBOSE, 10))
                 .build();
 
         mapper.registerModule(new JavaTimeModule());
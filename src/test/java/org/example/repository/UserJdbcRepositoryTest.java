@@ -0,0 +1,60 @@
+package org.example.repository;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@JdbcTest
+@Import(UserJdbcRepository.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UserJdbcRepositoryTest {
+    @Autowired
+    private UserJdbcRepository userJdbcRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("Should let only one transaction at a time hold the outbox relay lock")
+    void testTryLockOutboxRelay() throws Exception {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Boolean> holder = CompletableFuture.supplyAsync(() ->
+                transactionTemplate.execute(status -> {
+                    boolean lock = userJdbcRepository.tryLockOutboxRelay();
+                    locked.countDown();
+                    await(release);
+                    return lock;
+                }));
+        assertTrue(locked.await(10, TimeUnit.SECONDS));
+
+        Boolean contended = transactionTemplate.execute(status -> userJdbcRepository.tryLockOutboxRelay());
+        release.countDown();
+
+        assertEquals(true, holder.get(10, TimeUnit.SECONDS));
+        assertEquals(false, contended);
+        assertEquals(true, transactionTemplate.execute(status -> userJdbcRepository.tryLockOutboxRelay()));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
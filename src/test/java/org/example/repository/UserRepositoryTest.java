@@ -1,14 +1,19 @@
 package org.example.repository;
 
 import org.example.model.UserEntity;
+import org.example.model.UserPageCursor;
+import org.example.model.dto.UserFilter;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
 
 @DataJpaTest
@@ -34,13 +39,64 @@ class UserRepositoryTest {
         Optional<UserEntity> entity = userRepository.findFirstByEmail(newUser.getEmail());
 
         assertTrue(entity.isPresent());
-        assertEquals(1L, entity.get().getId());
+        assertEquals(newUser.getId(), entity.get().getId());
         assertEquals(newUser.getName(), entity.get().getName());
         assertEquals(newUser.getEmail(), entity.get().getEmail());
         assertEquals(newUser.getAge(), entity.get().getAge());
         assertEquals(newUser.getCreatedAt(), entity.get().getCreatedAt());
     }
 
+    @Test
+    @DisplayName("Should page through all users by created_at and id")
+    void testSearchKeysetPagination() {
+        LocalDateTime createdAt = LocalDateTime.of(2023, 10, 11, 23, 10, 5);
+        for (int i = 0; i < 7; i++) {
+            userRepository.save(makeUserEntity("User " + i, "user" + i + "@email.com", 20 + i,
+                    createdAt.plusMinutes(i / 2)));
+        }
+
+        List<UserEntity> all = new ArrayList<>();
+        UserPageCursor cursor = null;
+        List<UserEntity> page;
+        do {
+            page = userRepository.search(new UserFilter(), cursor, 3);
+            all.addAll(page);
+            cursor = page.isEmpty() ? null : UserPageCursor.of(page.get(page.size() - 1));
+        } while (page.size() == 3);
+
+        assertThat(all).extracting(UserEntity::getName)
+                .containsExactly("User 0", "User 1", "User 2", "User 3", "User 4", "User 5", "User 6");
+    }
+
+    @Test
+    @DisplayName("Should filter users by name prefix, email domain and age range")
+    void testSearchFilters() {
+        LocalDateTime createdAt = LocalDateTime.of(2023, 10, 11, 23, 10, 5);
+        userRepository.save(makeUserEntity("Ivan", "ivan@mail.ru", 30, createdAt));
+        userRepository.save(makeUserEntity("Igor", "igor@gmail.com", 30, createdAt));
+        userRepository.save(makeUserEntity("Ivanna", "ivanna@mail.ru", 17, createdAt));
+        userRepository.save(makeUserEntity("Petr", "petr@mail.ru", 30, createdAt.plusDays(1)));
+
+        UserFilter filter = UserFilter.builder()
+                .namePrefix("I")
+                .emailDomain("mail.ru")
+                .minAge(18)
+                .createdTo(createdAt.plusHours(1))
+                .build();
+
+        assertThat(userRepository.search(filter, null, 10)).extracting(UserEntity::getName)
+                .containsExactly("Ivan");
+    }
+
+    private UserEntity makeUserEntity(String name, String email, int age, LocalDateTime createdAt) {
+        return UserEntity.builder()
+                .name(name)
+                .email(email)
+                .age(age)
+                .createdAt(createdAt)
+                .build();
+    }
+
     private UserEntity makeUserEntity() {
         return UserEntity.builder()
                 .name("John")
@@ -0,0 +1,100 @@
+package org.example.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.model.UserOutboxEntity;
+import org.example.model.dto.UserEventType;
+import org.example.repository.UserJdbcRepository;
+import org.example.repository.UserOutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+    @Mock
+    private UserOutboxRepository outboxRepository;
+    @Mock
+    private UserJdbcRepository userJdbcRepository;
+    @Mock
+    private ProducerService producerService;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private OutboxRelay relay;
+    private List<UserOutboxEntity> batch;
+
+    @BeforeEach
+    void setUp() {
+        relay = new OutboxRelay(outboxRepository, userJdbcRepository, producerService, new TransactionTemplate(transactionManager), 2,
+                Duration.ofSeconds(1), new SimpleMeterRegistry());
+        lenient().when(userJdbcRepository.tryLockOutboxRelay()).thenReturn(true);
+        batch = List.of(
+                new UserOutboxEntity(1L, "CREATE", 10L, "some@email.com", LocalDateTime.now()),
+                new UserOutboxEntity(2L, "DELETE", 10L, "some@email.com", LocalDateTime.now()));
+    }
+
+    @Test
+    void relayBatch() {
+        when(outboxRepository.findByOrderByIdAsc(Limit.of(2))).thenReturn(batch);
+        when(producerService.sendUserEvent(any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        assertEquals(2, relay.relayBatch());
+
+        var inOrder = inOrder(producerService, outboxRepository);
+        inOrder.verify(producerService).sendUserEvent(argThat(e ->
+                e.getOperation() == UserEventType.CREATE && e.getUserId() == 10L && e.getEmail().equals("some@email.com")));
+        inOrder.verify(producerService).sendUserEvent(argThat(e ->
+                e.getOperation() == UserEventType.DELETE && e.getUserId() == 10L && e.getEmail().equals("some@email.com")));
+        inOrder.verify(outboxRepository).deleteAllByIdInBatch(List.of(1L, 2L));
+    }
+
+    @Test
+    void relayBatch_sendFailed() {
+        when(outboxRepository.findByOrderByIdAsc(Limit.of(2))).thenReturn(batch);
+        when(producerService.sendUserEvent(any()))
+                .thenReturn(CompletableFuture.completedFuture(null))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+
+        assertEquals(0, relay.relayBatch());
+
+        verify(outboxRepository, never()).deleteAllByIdInBatch(any());
+    }
+
+    @Test
+    void relayBatch_lockedByAnotherInstance() {
+        when(userJdbcRepository.tryLockOutboxRelay()).thenReturn(false);
+
+        assertEquals(0, relay.relayBatch());
+
+        verify(outboxRepository, never()).findByOrderByIdAsc(any());
+        verify(producerService, never()).sendUserEvent(any());
+    }
+
+    @Test
+    void relay_drainsUntilPartialBatch() {
+        when(outboxRepository.findByOrderByIdAsc(Limit.of(2)))
+                .thenReturn(batch)
+                .thenReturn(List.of(new UserOutboxEntity(3L, "CREATE", 11L, "other@email.com", LocalDateTime.now())));
+        when(producerService.sendUserEvent(any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        relay.relay();
+
+        verify(producerService, times(3)).sendUserEvent(any());
+        verify(outboxRepository, times(2)).findByOrderByIdAsc(Limit.of(2));
+    }
+}
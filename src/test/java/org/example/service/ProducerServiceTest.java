@@ -0,0 +1,63 @@
+package org.example.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.model.dto.UserEvent;
+import org.example.model.dto.UserEventType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ProducerServiceTest {
+    @Mock
+    private KafkaTemplate<String, UserEvent> kafkaTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ProducerService producerService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        producerService = new ProducerService(kafkaTemplate, meterRegistry);
+    }
+
+    @Test
+    void sendUserEvent() {
+        CompletableFuture<SendResult<String, UserEvent>> sent = new CompletableFuture<>();
+        when(kafkaTemplate.send(eq("user-events"), eq("10"), any())).thenReturn(sent);
+
+        CompletableFuture<SendResult<String, UserEvent>> result = producerService.sendUserEvent(
+                new UserEvent(UserEventType.CREATE, 10L, "some@email.com", 1_700_000_000_000L));
+        assertEquals(0, meterRegistry.get("user.events.send").tag("result", "success").timer().count());
+
+        sent.complete(new SendResult<>(null, null));
+        assertTrue(result.isDone());
+        assertEquals(1, meterRegistry.get("user.events.send").tag("result", "success").timer().count());
+        assertEquals(0, meterRegistry.get("user.events.send.failures").counter().count());
+    }
+
+    @Test
+    void sendUserEvent_failed() {
+        when(kafkaTemplate.send(eq("user-events"), eq("10"), any()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+
+        CompletableFuture<SendResult<String, UserEvent>> result = producerService.sendUserEvent(
+                new UserEvent(UserEventType.DELETE, 10L, "some@email.com", 1_700_000_000_000L));
+
+        assertTrue(result.isCompletedExceptionally());
+        assertEquals(1, meterRegistry.get("user.events.send").tag("result", "failure").timer().count());
+        assertEquals(1, meterRegistry.get("user.events.send.failures").counter().count());
+    }
+}
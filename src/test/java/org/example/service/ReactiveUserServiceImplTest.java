@@ -0,0 +1,160 @@
+package org.example.service;
+
+import org.example.exception.EmailConflictException;
+import org.example.exception.EntityNotFoundException;
+import org.example.mapper.UserMapperImpl;
+import org.example.model.UserEntity;
+import org.example.model.dto.NewUserDto;
+import org.example.model.dto.UserDto;
+import org.example.model.dto.UserFilter;
+import org.example.model.dto.UserPageDto;
+import org.example.repository.UserR2dbcRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.r2dbc.DataR2dbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.ActiveProfiles;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataR2dbcTest(properties = {
+        "spring.r2dbc.url=r2dbc:h2:mem:///reactive_test;DB_CLOSE_DELAY=-1",
+        "spring.r2dbc.username=sa",
+        "spring.r2dbc.password="})
+@ActiveProfiles("reactive")
+@Import({ReactiveUserServiceImpl.class, UserR2dbcRepository.class, UserMapperImpl.class})
+class ReactiveUserServiceImplTest {
+    @Autowired
+    private ReactiveUserService userService;
+    @Autowired
+    private DatabaseClient databaseClient;
+    @Autowired
+    private UserR2dbcRepository userRepository;
+    private NewUserDto newUserDto;
+
+    @BeforeEach
+    void setUp() {
+        databaseClient.sql("DELETE FROM users").then()
+                .then(databaseClient.sql("DELETE FROM user_outbox").then())
+                .block();
+        newUserDto = new NewUserDto("Test User", "some@email.com", 25);
+    }
+
+    @Test
+    @DisplayName("Should add a user and read it back")
+    void testCreateAndGet() {
+        UserDto created = userService.create(newUserDto).block();
+
+        assertThat(created.getId()).isNotNull();
+        assertThat(created.getCreatedAt()).isNotNull();
+        StepVerifier.create(userService.getById(created.getId()))
+                .assertNext(found -> {
+                    assertEquals(created.getId(), found.getId());
+                    assertEquals("some@email.com", found.getEmail());
+                    assertEquals(25, found.getAge());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should reject a duplicate email")
+    void testCreateEmailConflict() {
+        userService.create(newUserDto).block();
+
+        StepVerifier.create(userService.create(newUserDto))
+                .expectError(EmailConflictException.class)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Should signal not found for a missing user")
+    void testGetNotFound() {
+        StepVerifier.create(userService.getById(999L))
+                .expectError(EntityNotFoundException.class)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Should update and delete a user and record both events")
+    void testUpdateAndDelete() {
+        UserDto created = userService.create(newUserDto).block();
+
+        StepVerifier.create(userService.update(created.getId(), new NewUserDto("New Name", "new@email.com", 30)))
+                .assertNext(updated -> {
+                    assertEquals("New Name", updated.getName());
+                    assertEquals("new@email.com", updated.getEmail());
+                })
+                .verifyComplete();
+        StepVerifier.create(userService.delete(created.getId())).verifyComplete();
+        StepVerifier.create(userService.getById(created.getId()))
+                .expectError(EntityNotFoundException.class)
+                .verify();
+        StepVerifier.create(databaseClient.sql("SELECT operation FROM user_outbox ORDER BY id")
+                        .map(row -> row.get("operation", String.class))
+                        .all())
+                .expectNext("CREATE", "UPDATE", "DELETE")
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should not write back a user changed or deleted since it was read")
+    void testUpdateIsConditional() {
+        UserDto created = userService.create(newUserDto).block();
+        UserEntity stale = userRepository.findById(created.getId()).block();
+
+        StepVerifier.create(userService.update(created.getId(), new NewUserDto(null, null, 30)))
+                .assertNext(updated -> assertEquals(1L, updated.getVersion()))
+                .verifyComplete();
+        stale.setName("Lost Update");
+        StepVerifier.create(userRepository.update(stale)).verifyComplete();
+        StepVerifier.create(userService.getById(created.getId()))
+                .assertNext(found -> {
+                    assertEquals("Test User", found.getName());
+                    assertEquals(30, found.getAge());
+                    assertEquals(1L, found.getVersion());
+                })
+                .verifyComplete();
+
+        userService.delete(created.getId()).block();
+        StepVerifier.create(userRepository.update(stale)).verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should page through filtered users with a cursor")
+    void testSearch() {
+        for (int i = 0; i < 5; i++) {
+            userService.create(new NewUserDto("User " + i, "user" + i + "@mail.ru", 20 + i)).block();
+        }
+        userService.create(new NewUserDto("Other", "other@gmail.com", 40)).block();
+        UserFilter filter = UserFilter.builder().emailDomain("mail.ru").minAge(21).build();
+
+        UserPageDto first = userService.search(filter, null, 2).block();
+        UserPageDto second = userService.search(filter, first.getNextCursor(), 2).block();
+
+        assertThat(first.getUsers()).extracting(UserDto::getName).containsExactly("User 1", "User 2");
+        assertThat(second.getUsers()).extracting(UserDto::getName).containsExactly("User 3", "User 4");
+        assertThat(second.getNextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should stream every user and record outbox events")
+    void testExportAndOutbox() {
+        userService.create(newUserDto).block();
+        UserDto second = userService.create(new NewUserDto("Test User 2", "some2@email.com", 30)).block();
+        userService.delete(second.getId()).block();
+
+        StepVerifier.create(userService.exportAll().map(UserDto::getEmail))
+                .expectNext("some@email.com")
+                .verifyComplete();
+        StepVerifier.create(databaseClient.sql("SELECT operation FROM user_outbox ORDER BY id")
+                        .map(row -> row.get("operation", String.class))
+                        .all())
+                .expectNext("CREATE", "CREATE", "DELETE")
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,58 @@
+package org.example.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.example.model.dto.NewUserDto;
+import org.example.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest
+class UserExportServiceTest {
+    private final UserExportService exportService;
+    private final UserService userService;
+    private final UserRepository userRepository;
+    private final ObjectMapper objectMapper;
+    @MockBean
+    private ProducerService producerService;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should export every user as one JSON object per line in id order")
+    void testExportAll() throws Exception {
+        List<NewUserDto> users = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            users.add(new NewUserDto("User " + i, "user" + i + "@email.com", 20 + i));
+        }
+        userService.createAll(users);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long count = exportService.exportAll(out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(25, count);
+        assertEquals(25, lines.length);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertEquals("user0@email.com", first.get("email").asText());
+        assertThat(first.get("createdAt").asText()).matches("\\d{4}-\\d{2}-\\d{2} \\d{2}:\\d{2}:\\d{2}");
+        assertEquals("user24@email.com", objectMapper.readTree(lines[24]).get("email").asText());
+    }
+}
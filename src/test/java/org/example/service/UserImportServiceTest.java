@@ -0,0 +1,105 @@
+package org.example.service;
+
+import lombok.RequiredArgsConstructor;
+import org.example.model.ImportFormat;
+import org.example.model.dto.ImportReportDto;
+import org.example.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest
+class UserImportServiceTest {
+    private final UserImportService importService;
+    private final UserRepository userRepository;
+    @MockBean
+    private ProducerService producerService;
+    @TempDir
+    private Path tempDir;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should import CSV records and write rejected lines to the rejects file")
+    void testImportCsv() throws Exception {
+        String csv = """
+                name,email,age
+                John,john@email.com,22
+                "Petrov, Ivan",ivan@email.com,30
+                Bob,john@email.com,40
+                A,not-an-email,-1
+                Broken,broken@email.com,abc
+                Short line
+                """;
+        Path rejects = tempDir.resolve("rejects.tsv");
+
+        ImportReportDto report = importService.importUsers(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), ImportFormat.CSV, rejects);
+
+        assertEquals(6, report.getRead());
+        assertEquals(2, report.getCreated());
+        assertEquals(1, report.getConflicts());
+        assertEquals(3, report.getInvalid());
+        assertTrue(userRepository.findFirstByEmail("ivan@email.com").isPresent());
+        assertEquals("Petrov, Ivan", userRepository.findFirstByEmail("ivan@email.com").get().getName());
+        List<String> rejected = Files.readAllLines(rejects);
+        assertThat(rejected).hasSize(4);
+        assertThat(rejected).anyMatch(line -> line.startsWith("4\t") && line.endsWith("Bob,john@email.com,40"));
+        assertThat(rejected).anyMatch(line -> line.startsWith("6\tage: must be a number"));
+    }
+
+    @Test
+    @DisplayName("Should import NDJSON records")
+    void testImportNdjson() throws Exception {
+        String ndjson = """
+                {"name":"John","email":"john@email.com","age":22}
+                {"name":"Jane","email":"jane@email.com","age":23}
+                {"name":"Jane",
+                """;
+
+        ImportReportDto report = importService.importUsers(
+                new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)), ImportFormat.NDJSON,
+                tempDir.resolve("rejects.tsv"));
+
+        assertEquals(3, report.getRead());
+        assertEquals(2, report.getCreated());
+        assertEquals(1, report.getInvalid());
+        assertEquals(2, userRepository.count());
+    }
+
+    @Test
+    @DisplayName("Should reject NDJSON null lines instead of failing the import")
+    void testImportNdjsonNull() throws Exception {
+        String ndjson = """
+                {"name":"John","email":"john@email.com","age":22}
+                null
+                """;
+        Path rejects = tempDir.resolve("rejects.tsv");
+
+        ImportReportDto report = importService.importUsers(
+                new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)), ImportFormat.NDJSON, rejects);
+
+        assertEquals(2, report.getRead());
+        assertEquals(1, report.getCreated());
+        assertEquals(1, report.getInvalid());
+        assertThat(Files.readAllLines(rejects)).containsExactly("2\tExpected a JSON object\tnull");
+    }
+}
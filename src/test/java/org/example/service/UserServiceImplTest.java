@@ -3,8 +3,12 @@ package org.example.service;
 import lombok.RequiredArgsConstructor;
 import org.example.exception.EmailConflictException;
 import org.example.exception.EntityNotFoundException;
+import org.example.exception.PreconditionFailedException;
+import org.example.model.dto.BatchItemResultDto;
+import org.example.model.dto.BatchItemStatus;
 import org.example.model.dto.NewUserDto;
 import org.example.model.dto.UserDto;
+import org.example.repository.UserOutboxRepository;
 import org.example.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -14,8 +18,10 @@ import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -28,12 +34,16 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 class UserServiceImplTest {
     private final UserService userService;
     private final UserRepository userRepository;
+    private final UserOutboxRepository outboxRepository;
+    @MockBean
+    private ProducerService producerService;
     private NewUserDto newUserDto;
     private UserDto userDto;
 
     @BeforeEach
     void setUp() {
         userRepository.deleteAll();
+        outboxRepository.deleteAll();
         newUserDto = makeNewUserDto();
         userDto = makeUserDto();
     }
@@ -49,6 +59,19 @@ class UserServiceImplTest {
         assertThat(createdUser.getCreatedAt()).isNotNull();
     }
 
+    @Test
+    @DisplayName("Should record create and delete events in the outbox")
+    void testWritesRecordOutboxEvents() {
+        UserDto createdUser = userService.create(newUserDto);
+        userService.createAll(List.of(new NewUserDto("Test User 2", "some2@email.com", 30)));
+        userService.delete(createdUser.getId(), null);
+
+        assertThat(outboxRepository.findAll())
+                .extracting(e -> e.getOperation() + " " + e.getEmail())
+                .containsExactly("CREATE some@email.com", "CREATE some2@email.com", "DELETE some@email.com");
+        assertThat(outboxRepository.findAll().get(0).getUserId()).isEqualTo(createdUser.getId());
+    }
+
     @Test
     @DisplayName("Should handle exception when creating user")
     void testCreateUserWhenEmailConflict() {
@@ -56,6 +79,33 @@ class UserServiceImplTest {
         assertThrows(EmailConflictException.class, () -> userService.create(newUserDto));
     }
 
+    @Test
+    @DisplayName("Should add a batch of users and report conflicts and invalid items")
+    void testCreateAllUsers() {
+        userService.create(newUserDto);
+        List<NewUserDto> batch = List.of(
+                new NewUserDto("Test User 2", "some2@email.com", 30),
+                new NewUserDto("Test User 3", "some@email.com", 31),
+                new NewUserDto("", "invalid-email", -1),
+                new NewUserDto("Test User 4", "some2@email.com", 32),
+                new NewUserDto("Test User 5", "some5@email.com", 33));
+
+        List<BatchItemResultDto> results = userService.createAll(batch);
+
+        assertThat(results).extracting(BatchItemResultDto::getStatus).containsExactly(
+                BatchItemStatus.CREATED,
+                BatchItemStatus.CONFLICT,
+                BatchItemStatus.INVALID,
+                BatchItemStatus.CONFLICT,
+                BatchItemStatus.CREATED);
+        assertThat(results).extracting(BatchItemResultDto::getIndex).containsExactly(0, 1, 2, 3, 4);
+        assertThat(results.get(2).getErrors()).hasSize(4);
+        UserDto created = userService.getById(results.get(4).getUser().getId());
+        assertEquals("some5@email.com", created.getEmail());
+        assertEquals(33, created.getAge());
+        assertThat(created.getCreatedAt()).isNotNull();
+    }
+
     @Test
     @DisplayName("Should get a user by id successfully")
     void testGetUserByIdSuccess() {
@@ -68,6 +118,17 @@ class UserServiceImplTest {
         assertEquals(retrievedUser.getCreatedAt(), createdUser.getCreatedAt());
     }
 
+    @Test
+    @DisplayName("Should get the existing users among the requested ids")
+    void testGetAllById() {
+        UserDto first = userService.create(newUserDto);
+        UserDto second = userService.create(new NewUserDto("Test User 2", "some2@email.com", 30));
+
+        List<UserDto> found = userService.getAllById(List.of(second.getId(), 999L, first.getId()));
+
+        assertThat(found).extracting(UserDto::getId).containsExactlyInAnyOrder(first.getId(), second.getId());
+    }
+
     @Test
     @DisplayName("Should handle exception when getting user")
     void testGetByIdUserWhenUserNotFound() {
@@ -79,7 +140,7 @@ class UserServiceImplTest {
     void testUpdateUserSuccess_OnlyName() {
         UserDto createdUser = userService.create(newUserDto);
         NewUserDto newUser = new NewUserDto("Updated Name", null, null);
-        UserDto updatedUser = userService.update(createdUser.getId(), newUser);
+        UserDto updatedUser = userService.update(createdUser.getId(), newUser, null);
 
         assertEquals(updatedUser.getName(), newUser.getName());
         assertEquals(updatedUser.getEmail(), createdUser.getEmail());
@@ -92,7 +153,7 @@ class UserServiceImplTest {
     void testUpdateUserSuccess_onlyEmail() {
         UserDto createdUser = userService.create(newUserDto);
         NewUserDto newUser = new NewUserDto(null, "test@example.com", null);
-        UserDto updatedUser = userService.update(createdUser.getId(), newUser);
+        UserDto updatedUser = userService.update(createdUser.getId(), newUser, null);
 
         assertEquals(updatedUser.getName(), createdUser.getName());
         assertEquals(updatedUser.getEmail(), newUser.getEmail());
@@ -105,7 +166,7 @@ class UserServiceImplTest {
     void testUpdateUserSuccess_onlyAge() {
         UserDto createdUser = userService.create(newUserDto);
         NewUserDto newUser = new NewUserDto(null, null, 25);
-        UserDto updatedUser = userService.update(createdUser.getId(), newUser);
+        UserDto updatedUser = userService.update(createdUser.getId(), newUser, null);
 
         assertEquals(updatedUser.getName(), createdUser.getName());
         assertEquals(updatedUser.getEmail(), createdUser.getEmail());
@@ -118,7 +179,7 @@ class UserServiceImplTest {
     void testUpdateUserSuccess_allFields() {
         UserDto createdUser = userService.create(newUserDto);
         NewUserDto newUser = new NewUserDto("Updated Name", "test@example.com", 25);
-        UserDto updatedUser = userService.update(createdUser.getId(), newUser);
+        UserDto updatedUser = userService.update(createdUser.getId(), newUser, null);
 
         assertEquals(updatedUser.getName(), newUser.getName());
         assertEquals(updatedUser.getEmail(), newUser.getEmail());
@@ -129,7 +190,7 @@ class UserServiceImplTest {
     @Test
     @DisplayName("Should handle EntityNotFoundException when updating user")
     void testUpdateUserWhenUserNotFound() {
-        assertThrows(RuntimeException.class, () -> userService.update(999L, newUserDto));
+        assertThrows(RuntimeException.class, () -> userService.update(999L, newUserDto, null));
     }
 
     @ParameterizedTest
@@ -140,7 +201,7 @@ class UserServiceImplTest {
         UserDto user2 = userService.create(new NewUserDto("Test User 2", "some2@email.com", 30));
 
         NewUserDto updateDto = new NewUserDto("Updated Name", email, 35);
-        UserDto updatedUser = userService.update(user2.getId(), updateDto);
+        UserDto updatedUser = userService.update(user2.getId(), updateDto, null);
 
         assertEquals(updatedUser.getEmail(), updateDto.getEmail());
     }
@@ -152,6 +213,23 @@ class UserServiceImplTest {
         );
     }
 
+    @Test
+    @DisplayName("Should bump the version on update and reject a stale If-Match version")
+    void testUpdateUserWithExpectedVersion() {
+        UserDto createdUser = userService.create(newUserDto);
+        long version = userService.getVersion(createdUser.getId());
+
+        UserDto updatedUser = userService.update(createdUser.getId(), new NewUserDto("Updated Name", null, null), version);
+
+        assertEquals(version + 1, updatedUser.getVersion());
+        assertThrows(PreconditionFailedException.class, () ->
+                userService.update(createdUser.getId(), new NewUserDto(null, null, 40), version));
+        assertThrows(PreconditionFailedException.class, () -> userService.delete(createdUser.getId(), version));
+        assertThrows(EntityNotFoundException.class, () -> userService.delete(999L, version));
+        userService.delete(createdUser.getId(), version + 1);
+        assertThat(userRepository.existsById(createdUser.getId())).isFalse();
+    }
+
     @Test
     @DisplayName("Should handle EmailConflictException when updating user")
     void testUpdateUserWhenUserEmailConflict() {
@@ -159,15 +237,15 @@ class UserServiceImplTest {
         UserDto user2 = userService.create(new NewUserDto("Test User 2", "some2@email.com", 30));
 
         NewUserDto updateDto = new NewUserDto("Updated Name", "some@email.com", 35);
-        assertThrows(EmailConflictException.class, () -> userService.update(user2.getId(), updateDto));
+        assertThrows(EmailConflictException.class, () -> userService.update(user2.getId(), updateDto, null));
     }
 
     @Test
     @DisplayName("Should delete a user successfully")
     void testDeleteUserSuccess() {
         long userId = userService.create(newUserDto).getId();
-        userService.delete(userId);
-        assertThat(userRepository.findById(userId)).isEmpty();
+        userService.delete(userId, null);
+        assertThat(userRepository.existsById(userId)).isFalse();
     }
 
     private NewUserDto makeNewUserDto() {
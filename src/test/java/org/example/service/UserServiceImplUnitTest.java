@@ -1,18 +1,28 @@
 package org.example.service;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.cache.SingleFlight;
+import org.example.cache.UserResponseCache;
 import org.example.exception.EmailConflictException;
 import org.example.exception.EntityNotFoundException;
 import org.example.mapper.UserMapper;
 import org.example.model.UserEntity;
 import org.example.model.dto.NewUserDto;
 import org.example.model.dto.UserDto;
+import org.example.model.dto.UserEventType;
+import org.example.repository.UserJdbcRepository;
 import org.example.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.Optional;
@@ -21,6 +31,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,6 +42,16 @@ class UserServiceImplUnitTest {
     private UserRepository userRepository;
     @Mock
     private UserMapper userMapper;
+    @Mock
+    private UserEventOutbox eventOutbox;
+    @Mock
+    private UserResponseCache responseCache;
+    @Mock
+    private UserJdbcRepository userJdbcRepository;
+    @Spy
+    private TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+    @Spy
+    private SingleFlight<Long, UserDto> userLoads = new SingleFlight<>("user.load", new SimpleMeterRegistry());
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -40,25 +62,27 @@ class UserServiceImplUnitTest {
     @BeforeEach
     void setUp() {
         newUserDto = new NewUserDto("John Doe", "john.doe@example.com", 30);
-        userEntity = new UserEntity(1L, "John Doe", "john.doe@example.com", 30, LocalDateTime.now());
-        userDto = new UserDto(1L, "John Doe", "john.doe@example.com", 30, LocalDateTime.now());
+        userEntity = new UserEntity(1L, "John Doe", "john.doe@example.com", 30, LocalDateTime.now(), 0L);
+        userDto = new UserDto(1L, "John Doe", "john.doe@example.com", 30, LocalDateTime.now(), 0L);
     }
 
     @Test
     void create() {
         when(userMapper.toUserEntity(newUserDto)).thenReturn(userEntity);
-        when(userRepository.save(userEntity)).thenReturn(userEntity);
+        when(userRepository.saveAndFlush(userEntity)).thenReturn(userEntity);
         when(userMapper.toUserDto(userEntity)).thenReturn(userDto);
         UserDto result = userService.create(newUserDto);
         assertThat(result).isEqualTo(userDto);
-        verify(userRepository, times(1)).save(userEntity);
+        verify(userRepository, times(1)).saveAndFlush(userEntity);
+        verify(eventOutbox, times(1)).append(UserEventType.CREATE, userEntity);
     }
 
     @Test
-    void create_emailConflict() {
-        when(userRepository.findFirstByEmail(newUserDto.getEmail())).thenReturn(Optional.of(userEntity));
+    void create_uniqueConstraintViolation() {
+        when(userMapper.toUserEntity(newUserDto)).thenReturn(userEntity);
+        when(userRepository.saveAndFlush(userEntity)).thenThrow(DataIntegrityViolationException.class);
         assertThrows(EmailConflictException.class, () -> userService.create(newUserDto));
-        verify(userRepository, never()).save(any());
+        verify(eventOutbox, never()).append(any(), any());
     }
 
     @Test
@@ -77,32 +101,53 @@ class UserServiceImplUnitTest {
 
     @Test
     void update() {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(userEntity));
-        when(userRepository.save(userEntity)).thenReturn(userEntity);
+        when(userJdbcRepository.update(1L, "John Doe", "john.doe@example.com", 30, null)).thenReturn(Optional.of(userEntity));
         when(userMapper.toUserDto(userEntity)).thenReturn(userDto);
-        UserDto updatedUserDto = userService.update(1L, newUserDto);
+        UserDto updatedUserDto = userService.update(1L, newUserDto, null);
         assertThat(updatedUserDto).isEqualTo(userDto);
-        verify(userRepository, times(1)).save(userEntity);
+        verify(userRepository, never()).findById(anyLong());
+        verify(eventOutbox, times(1)).append(UserEventType.UPDATE, userEntity);
+        verify(responseCache, times(1)).invalidate(1L);
+        verify(userLoads, times(1)).forget(1L);
     }
 
+    @Test
+    void update_onlyChangedFields() {
+        when(userJdbcRepository.update(1L, null, null, 31, null)).thenReturn(Optional.of(userEntity));
+        userService.update(1L, new NewUserDto(null, null, 31), null);
+        verify(userJdbcRepository, times(1)).update(1L, null, null, 31, null);
+    }
 
     @Test
     void update_notFound() {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.empty());
-        assertThrows(EntityNotFoundException.class, () -> userService.update(1L, newUserDto));
+        when(userJdbcRepository.update(anyLong(), any(), any(), any(), any())).thenReturn(Optional.empty());
+        assertThrows(EntityNotFoundException.class, () -> userService.update(1L, newUserDto, null));
+        verify(eventOutbox, never()).append(any(), any());
+        verify(responseCache, never()).invalidate(any());
     }
 
     @Test
     void update_emailConflict() {
         NewUserDto newUserDtoWithDiffEmail = new NewUserDto("Jane Doe", "jane.doe@example.com", 25);
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(userEntity));
-        when(userRepository.findFirstByEmail(newUserDtoWithDiffEmail.getEmail())).thenReturn(Optional.of(new UserEntity(2L, "Jane Doe", "jane.doe@example.com", 25, LocalDateTime.now())));
-        assertThrows(EmailConflictException.class, () -> userService.update(1L, newUserDtoWithDiffEmail));
+        when(userJdbcRepository.update(anyLong(), any(), any(), any(), any())).thenThrow(DuplicateKeyException.class);
+        assertThrows(EmailConflictException.class, () -> userService.update(1L, newUserDtoWithDiffEmail, null));
     }
 
     @Test
     void delete() {
-        userService.delete(1L);
-        verify(userRepository, times(1)).deleteById(1L);
+        when(userJdbcRepository.deleteReturningEmail(1L, null)).thenReturn(Optional.of("john.doe@example.com"));
+        userService.delete(1L, null);
+        verify(userRepository, never()).findById(anyLong());
+        verify(eventOutbox, times(1)).append(eq(UserEventType.DELETE), argThat(deleted ->
+                deleted.getId() == 1L && "john.doe@example.com".equals(deleted.getEmail())));
+        verify(responseCache, times(1)).invalidate(1L);
+        verify(userLoads, times(1)).forget(1L);
+    }
+
+    @Test
+    void delete_notFound() {
+        when(userJdbcRepository.deleteReturningEmail(1L, null)).thenReturn(Optional.empty());
+        assertThrows(EntityNotFoundException.class, () -> userService.delete(1L, null));
+        verify(eventOutbox, never()).append(any(), any());
     }
 }